@@ -0,0 +1,60 @@
+package collections;
+
+import exception.IllegalArgumentException;
+
+/**
+ * A fixed-capacity queue of ints that keeps a running sum of its elements, for moving averages over the last
+ * {@code capacity} values (e.g., the LBD of recently learnt clauses). Pushing onto a full queue evicts the oldest
+ * element. The elements are stored in a ring buffer, so pushing never allocates.
+ */
+public class BoundedIntQueue {
+
+    private int[] elements;
+    private int first;  // index of the oldest element
+    private int size;
+    private long sum;
+
+    public BoundedIntQueue(int capacity) {
+        if(capacity <= 0)
+            throw new IllegalArgumentException("BoundedIntQueue", capacity);
+        elements = new int[capacity];
+        clear();
+    }
+
+    /**
+     * Add {@code elem} to the queue, evicting the oldest element if the queue is full.
+     */
+    public void push(int elem) {
+        if(size == elements.length) {
+            sum -= elements[first];
+            elements[first] = elem;
+            first = (first + 1) % elements.length;
+        }
+        else {
+            elements[(first + size) % elements.length] = elem;
+            size += 1;
+        }
+        sum += elem;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == elements.length;
+    }
+
+    /**
+     * Return the average of the elements in the queue (0 if it is empty).
+     */
+    public double average() {
+        return (size == 0) ? 0.0 : (double)sum / size;
+    }
+
+    public void clear() {
+        first = 0;
+        size = 0;
+        sum = 0;
+    }
+}
@@ -0,0 +1,14 @@
+package collections;
+
+/**
+ * Comparator for primitive ints, so that IntVec can be sorted without boxing its elements.
+ */
+@FunctionalInterface
+public interface IntComparator {
+
+    /**
+     * Return a negative number, zero, or a positive number if {@code a} is less than, equal to, or greater than 
+     * {@code b}, respectively.
+     */
+    public int compare(int a, int b);
+}
@@ -0,0 +1,152 @@
+package collections;
+
+import collections.exception.UnderflowException;
+import exception.IllegalArgumentException;
+
+/**
+ * An indexed binary heap of non-negative ints (e.g., variable IDs). The element ordered first by the comparator is
+ * kept at the top. Because the heap remembers the position of each element, it can check membership in constant
+ * time and re-position an element whose key changed in O(log n).
+ *
+ * The comparator usually reads keys stored outside of the heap (e.g., variable activities). Whenever the key of an
+ * element in the heap changes, call {@code increase()} (key moved towards the top) or {@code update()} (key may
+ * have moved in either direction) so that the heap property is restored.
+ */
+public class IntHeap {
+
+    private IntVec heap;        // the heap itself
+    private IntVec indices;     // for each element, its index in heap (or -1 if it isn't in the heap)
+    private IntComparator comparator;
+
+    public IntHeap(IntComparator comparator) {
+        this.heap = new IntVec();
+        this.indices = new IntVec();
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    public boolean isEmpty() {
+        return heap.size() == 0;
+    }
+
+    public boolean contains(int n) {
+        return n < indices.size() && indices.get(n) >= 0;
+    }
+
+    /**
+     * Return the element at the top of the heap without removing it.
+     */
+    public int top() {
+        if(heap.size() == 0)
+            throw new UnderflowException("Unable to read the top of an empty heap.");
+        return heap.get(0);
+    }
+
+    /**
+     * Insert {@code n} into the heap. Does nothing if it is already in the heap.
+     */
+    public void insert(int n) {
+        if(n < 0)
+            throw new IllegalArgumentException("IntHeap.insert", n);
+        if(n >= indices.size())
+            indices.growTo(n + 1, -1);
+        if(contains(n))
+            return;
+        indices.set(n, heap.size());
+        heap.push(n);
+        percolateUp(indices.get(n));
+    }
+
+    /**
+     * Remove and return the element at the top of the heap.
+     */
+    public int removeTop() {
+        int top = top();
+        int last = heap.last();
+        heap.set(0, last);
+        indices.set(last, 0);
+        indices.set(top, -1);
+        heap.pop();
+        if(heap.size() > 1)
+            percolateDown(0);
+        return top;
+    }
+
+    /**
+     * Restore the heap property after the key of {@code n} moved towards the top.
+     */
+    public void increase(int n) {
+        if(contains(n))
+            percolateUp(indices.get(n));
+    }
+
+    /**
+     * Restore the heap property after the key of {@code n} changed in either direction.
+     */
+    public void update(int n) {
+        if(contains(n)) {
+            percolateUp(indices.get(n));
+            percolateDown(indices.get(n));
+        }
+    }
+
+    /**
+     * Remove all elements and re-insert the elements of {@code elements}. Runs in linear time.
+     */
+    public void rebuild(IntVec elements) {
+        clear();
+        for(int i=0; i<elements.size(); ++i) {
+            int n = elements.get(i);
+            if(n >= indices.size())
+                indices.growTo(n + 1, -1);
+            if(contains(n))
+                continue;
+            indices.set(n, heap.size());
+            heap.push(n);
+        }
+        for(int i = heap.size() / 2 - 1; i >= 0; --i)
+            percolateDown(i);
+    }
+
+    public void clear() {
+        for(int i=0; i<heap.size(); ++i)
+            indices.set(heap.get(i), -1);
+        heap.clear();
+    }
+
+    private void percolateUp(int i) {
+        int n = heap.get(i);
+        while(i > 0) {
+            int parent = (i - 1) >> 1;
+            int parentElement = heap.get(parent);
+            if(comparator.compare(n, parentElement) >= 0)
+                break;
+            heap.set(i, parentElement);
+            indices.set(parentElement, i);
+            i = parent;
+        }
+        heap.set(i, n);
+        indices.set(n, i);
+    }
+
+    private void percolateDown(int i) {
+        int n = heap.get(i);
+        int size = heap.size();
+        while(2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if(child + 1 < size && comparator.compare(heap.get(child + 1), heap.get(child)) < 0)
+                child += 1;
+            int childElement = heap.get(child);
+            if(comparator.compare(childElement, n) >= 0)
+                break;
+            heap.set(i, childElement);
+            indices.set(childElement, i);
+            i = child;
+        }
+        heap.set(i, n);
+        indices.set(n, i);
+    }
+}
@@ -181,6 +181,56 @@ public class IntVec {
         vec[index] = element;
     }
     
+    /**
+     * Partially sort using a comparator, so that the element at index {@code n} is the one that would be there if the 
+     * vector were sorted, no element before it compares greater and no element after it compares smaller. Runs in 
+     * expected linear time (quickselect) and doesn't allocate.
+     */
+    public void nthElement(int n, IntComparator comparator) {
+        if(n < 0 || n >= numElements)
+            throw new IndexOutOfBoundsException(n);
+        int from = 0;
+        int to = numElements - 1;
+        while(from < to) {
+            // median of three as the pivot, to avoid the worst case on (nearly) sorted input
+            int mid = (from + to) >>> 1;
+            if(comparator.compare(vec[mid], vec[from]) < 0)
+                swap(mid, from);
+            if(comparator.compare(vec[to], vec[from]) < 0)
+                swap(to, from);
+            if(comparator.compare(vec[to], vec[mid]) < 0)
+                swap(to, mid);
+            int pivot = vec[mid];
+
+            int i = from;
+            int j = to;
+            while(i <= j) {
+                while(comparator.compare(vec[i], pivot) < 0)
+                    i += 1;
+                while(comparator.compare(pivot, vec[j]) < 0)
+                    j -= 1;
+                if(i <= j) {
+                    swap(i, j);
+                    i += 1;
+                    j -= 1;
+                }
+            }
+            // now [from, j] <= pivot <= [i, to], and anything between j and i equals the pivot
+            if(n <= j)
+                to = j;
+            else if(n >= i)
+                from = i;
+            else
+                return;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int tmp = vec[i];
+        vec[i] = vec[j];
+        vec[j] = tmp;
+    }
+
     /**
      * Set the default value to be used by push() or growTo(int).
      * The default value may also be set in the constructor. It is {@code -1} if unset.
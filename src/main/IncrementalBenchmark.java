@@ -0,0 +1,147 @@
+package main;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import collections.SimpleVec;
+import solver.IncrementalSolver;
+import solver.SimpleIncrementalSolver;
+import solver.SimpleSolver;
+import solver.solverTypes.Literal;
+
+/**
+ * Microbenchmark of add+solve throughput for many small incremental calls, through the Literal-based Solver
+ * interface and through the int-based IncrementalSolver interface.
+ *
+ * Each instance starts from random 3-literal clauses over a few variables, then takes a number of steps. Each step
+ * adds one more random clause and solves under a few random assumptions. Both interfaces see the same clauses and
+ * assumptions, so they should give the same results. Usage: {@code IncrementalBenchmark [instances]}.
+ *
+ * The two interfaces are run alternately over several rounds, swapping which goes first each round, and the median
+ * time of each is reported, so a noisy round or a drift in machine speed doesn't favor either of them.
+ */
+public class IncrementalBenchmark {
+
+    private static final int VARS = 100;
+    private static final int BASE_CLAUSES = 250;
+    private static final int STEPS = 100; // steps per instance
+    private static final int ASSUMPTIONS = 3; // assumptions per step
+    private static final int ROUNDS = 7; // measured rounds per interface
+    private static final long SEED = 91648253;
+
+    public static void main(String[] args) {
+        int instances = (args.length > 0) ? Integer.parseInt(args[0]) : 200;
+        // warm up both paths before measuring
+        runLiterals(instances);
+        runInts(instances);
+        long[] literalTimes = new long[ROUNDS];
+        long[] intTimes = new long[ROUNDS];
+        long literalSat = 0, intSat = 0;
+        for(int round=0; round<ROUNDS; ++round) {
+            long[] literalResult, intResult;
+            if(round % 2 == 0) {
+                literalResult = runLiterals(instances);
+                intResult = runInts(instances);
+            }
+            else {
+                intResult = runInts(instances);
+                literalResult = runLiterals(instances);
+            }
+            literalTimes[round] = literalResult[0];
+            literalSat = literalResult[1];
+            intTimes[round] = intResult[0];
+            intSat = intResult[1];
+        }
+        report("Solver (Literal)", instances, median(literalTimes), literalSat);
+        report("IncrementalSolver (int)", instances, median(intTimes), intSat);
+    }
+
+    private static long median(long[] times) {
+        long[] sorted = Arrays.copyOf(times, times.length);
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Run the benchmark through the Solver interface. Returns the elapsed nanoseconds and the number of satisfiable
+     * calls.
+     */
+    private static long[] runLiterals(int instances) {
+        Random random = new Random(SEED);
+        long numSat = 0;
+        long start = System.nanoTime();
+        for(int n=0; n<instances; ++n) {
+            SimpleSolver solver = new SimpleSolver();
+            solver.newVariable(VARS);
+            for(int c=0; c<BASE_CLAUSES; ++c)
+                solver.addClause(randomClause(random));
+            for(int step=0; step<STEPS; ++step) {
+                solver.addClause(randomClause(random));
+                SimpleVec<Literal> assumptions = new SimpleVec<Literal>();
+                for(int i=0; i<ASSUMPTIONS; ++i)
+                    assumptions.push(toLiteral(randomLiteral(random)));
+                if(solver.solve(assumptions))
+                    numSat += 1;
+            }
+        }
+        return new long[] { System.nanoTime() - start, numSat };
+    }
+
+    /**
+     * Run the benchmark through the IncrementalSolver interface. Returns the elapsed nanoseconds and the number of
+     * satisfiable calls.
+     */
+    private static long[] runInts(int instances) {
+        Random random = new Random(SEED);
+        long numSat = 0;
+        long start = System.nanoTime();
+        for(int n=0; n<instances; ++n) {
+            IncrementalSolver solver = new SimpleIncrementalSolver();
+            for(int c=0; c<BASE_CLAUSES; ++c)
+                addRandomClause(random, solver);
+            for(int step=0; step<STEPS; ++step) {
+                addRandomClause(random, solver);
+                for(int i=0; i<ASSUMPTIONS; ++i)
+                    solver.assume(randomLiteral(random));
+                if(solver.solve() == IncrementalSolver.SATISFIABLE)
+                    numSat += 1;
+            }
+        }
+        return new long[] { System.nanoTime() - start, numSat };
+    }
+
+    private static SimpleVec<Literal> randomClause(Random random) {
+        SimpleVec<Literal> clause = new SimpleVec<Literal>();
+        for(int i=0; i<3; ++i)
+            clause.push(toLiteral(randomLiteral(random)));
+        return clause;
+    }
+
+    private static void addRandomClause(Random random, IncrementalSolver solver) {
+        for(int i=0; i<3; ++i)
+            solver.add(randomLiteral(random));
+        solver.add(0);
+    }
+
+    /**
+     * Return a random DIMACS literal.
+     */
+    private static int randomLiteral(Random random) {
+        int var = random.nextInt(VARS) + 1;
+        return random.nextBoolean() ? var : -var;
+    }
+
+    private static Literal toLiteral(int lit) {
+        return new Literal(Math.abs(lit) - 1, lit < 0);
+    }
+
+    private static void report(String name, int instances, long nanos, long numSat) {
+        double seconds = nanos / 1e9;
+        long calls = (long)instances * STEPS;
+        long clauses = (long)instances * (BASE_CLAUSES + STEPS);
+        System.out.println(name + ": " + calls + " solve() calls (" + numSat + " satisfiable), " + clauses
+                + " clauses in " + String.format("%.3f", seconds) + " s (median of " + ROUNDS + " rounds): "
+                + String.format("%.0f", calls / seconds) + " calls/s, " + String.format("%.0f", clauses / seconds)
+                + " clauses/s");
+    }
+}
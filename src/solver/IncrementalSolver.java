@@ -0,0 +1,70 @@
+package solver;
+
+import collections.IntVec;
+
+/**
+ * A primitive interface for driving a solver incrementally with many small calls, modeled on IPASIR (the interface of
+ * the SAT Race incremental track). Literals are DIMACS ints: variable v (numbered from 1) is {@code v} when positive
+ * and {@code -v} when negated. Variables are introduced implicitly the first time a literal mentions them.
+ *
+ * Unlike {@link Solver}, no call takes or returns objects per clause or per literal, so clauses and assumptions are
+ * passed on to the solver without intermediate allocation.
+ */
+public interface IncrementalSolver {
+
+    public static final int UNKNOWN = 0;
+    public static final int SATISFIABLE = 10;
+    public static final int UNSATISFIABLE = 20;
+
+    /**
+     * Add {@code lit} to the clause being built, or add the clause to the problem if {@code lit} is 0.
+     */
+    public void add(int lit);
+
+    /**
+     * Assume {@code lit} for the next call to solve(). The assumptions are cleared after it.
+     */
+    public void assume(int lit);
+
+    /**
+     * Solve under the assumptions given since the last call. Returns SATISFIABLE, UNSATISFIABLE, or UNKNOWN if the
+     * terminate callback stopped the search.
+     */
+    public int solve();
+
+    /**
+     * After solve() returned SATISFIABLE, returns {@code lit} if it is true in the model and {@code -lit} if it is
+     * false.
+     */
+    public int val(int lit);
+
+    /**
+     * After solve() returned UNSATISFIABLE, returns true if the assumption {@code lit} is one of the assumptions the
+     * problem was found unsatisfiable under.
+     */
+    public boolean failed(int lit);
+
+    /**
+     * Set the callback polled during search; search stops as soon as it returns true. Pass null to remove it.
+     */
+    public void setTerminate(Terminate terminate);
+
+    /**
+     * Set the callback given every learnt clause of at most {@code maxLength} literals. Pass null to remove it.
+     */
+    public void setLearn(int maxLength, Learn learn);
+
+    @FunctionalInterface
+    public interface Terminate {
+        public boolean terminate();
+    }
+
+    @FunctionalInterface
+    public interface Learn {
+        /**
+         * Called with the literals of a learnt clause. The vector is reused by the caller, so it must neither be
+         * modified nor kept past the call.
+         */
+        public void learn(IntVec clause);
+    }
+}
@@ -0,0 +1,29 @@
+package solver;
+
+/**
+ * Decides when the search should restart, i.e., backtrack to the root level and continue with the learnt clauses and
+ * variable activities it has gathered so far.
+ */
+public interface RestartPolicy {
+
+    /**
+     * Called at the start of each call to solve().
+     */
+    public void reset();
+
+    /**
+     * Called on every conflict, with the LBD (number of distinct decision levels) of the learnt clause and the number of
+     * assigned literals when the conflict was found.
+     */
+    public void conflict(int lbd, int trailSize);
+
+    /**
+     * Called when propagation found no conflict, before the next decision. Returns true if the search should restart.
+     */
+    public boolean shouldRestart();
+
+    /**
+     * Called after each restart.
+     */
+    public void restarted();
+}
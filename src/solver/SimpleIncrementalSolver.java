@@ -0,0 +1,126 @@
+package solver;
+
+import collections.IntVec;
+import exception.IllegalArgumentException;
+import exception.IllegalStateException;
+import solver.solverTypes.LBool;
+import solver.solverTypes.Lit;
+
+/**
+ * IncrementalSolver on top of a SimpleSolver. Clauses and assumptions are converted from DIMACS literals into the
+ * solver's int literals in reused buffers and passed on to its int-based methods (addClause(IntVec) and
+ * solveLimited()), so no objects are created per call.
+ */
+public class SimpleIncrementalSolver implements IncrementalSolver {
+
+    private SimpleSolver solver;
+    private int numVars; // number of variables introduced in solver so far
+    private IntVec clause; // int literals of the clause being built by add()
+    private IntVec assumptions; // int literals assumed for the next call to solve()
+    private IntVec learntClause; // reused buffer for the DIMACS literals of a learnt clause given to the callback
+    private int status; // result of the last call to solve(), or UNKNOWN once the problem or assumptions changed
+
+    public SimpleIncrementalSolver() {
+        this(new SimpleSolver());
+    }
+
+    /**
+     * Drive {@code solver}, which must not have any variables yet.
+     */
+    public SimpleIncrementalSolver(SimpleSolver solver) {
+        this.solver = solver;
+        this.numVars = 0;
+        this.clause = new IntVec();
+        this.assumptions = new IntVec();
+        this.learntClause = new IntVec();
+        this.status = UNKNOWN;
+    }
+
+    /**
+     * Return the solver this drives, e.g., to set search parameters or read statistics.
+     */
+    public SimpleSolver getSolver() {
+        return solver;
+    }
+
+    @Override
+    public void add(int lit) {
+        status = UNKNOWN;
+        if(lit == 0) {
+            solver.addClause(clause);
+            clause.clear();
+        }
+        else
+            clause.push(toLit(lit));
+    }
+
+    @Override
+    public void assume(int lit) {
+        status = UNKNOWN;
+        if(lit == 0)
+            throw new IllegalArgumentException("SimpleIncrementalSolver.assume", lit);
+        assumptions.push(toLit(lit));
+    }
+
+    @Override
+    public int solve() {
+        LBool result = solver.solveLimited(assumptions);
+        assumptions.clear();
+        if(result.equals(LBool.TRUE))
+            status = SATISFIABLE;
+        else if(result.equals(LBool.FALSE))
+            status = UNSATISFIABLE;
+        else
+            status = UNKNOWN;
+        return status;
+    }
+
+    @Override
+    public int val(int lit) {
+        if(status != SATISFIABLE)
+            throw new IllegalStateException("val() may only be called after solve() returned SATISFIABLE.");
+        int var = Math.abs(lit);
+        if(var == 0 || var > numVars)
+            throw new IllegalArgumentException("SimpleIncrementalSolver.val", lit);
+        return (solver.getModel().get(var - 1) == (lit > 0)) ? lit : -lit;
+    }
+
+    @Override
+    public boolean failed(int lit) {
+        if(status != UNSATISFIABLE)
+            throw new IllegalStateException("failed() may only be called after solve() returned UNSATISFIABLE.");
+        if(lit == 0 || Math.abs(lit) > numVars)
+            throw new IllegalArgumentException("SimpleIncrementalSolver.failed", lit);
+        return solver.isFailedAssumption(Lit.fromDimacs(lit));
+    }
+
+    @Override
+    public void setTerminate(Terminate terminate) {
+        solver.setTerminate(terminate);
+    }
+
+    @Override
+    public void setLearn(int maxLength, Learn learn) {
+        if(learn == null) {
+            solver.setLearn(maxLength, null);
+            return;
+        }
+        solver.setLearn(maxLength, (IntVec lits) -> {
+            learntClause.clear();
+            for(int i=0; i<lits.size(); ++i)
+                learntClause.push(Lit.toDimacs(lits.get(i)));
+            learn.learn(learntClause);
+        });
+    }
+
+    /**
+     * Convert the DIMACS literal {@code lit} into an int literal, introducing its variable (and all variables
+     * numbered below it) if it is new.
+     */
+    private int toLit(int lit) {
+        int var = Math.abs(lit);
+        if(var > numVars)
+            numVars = solver.newVariable(var - numVars);
+        return Lit.fromDimacs(lit);
+    }
+}
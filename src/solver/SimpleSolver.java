@@ -1,51 +1,100 @@
 package solver;
 
-import java.util.Optional;
+import java.util.Random;
 
 import collections.BoolVec;
 import collections.DoubleVec;
-import collections.Queue;
 import collections.Vec;
+import collections.IntComparator;
 import collections.IntVec;
-import collections.Pair;
-import collections.SimpleQueue;
 import collections.SimpleVec;
-import solver.solverTypes.Constraint;
+import solver.solverTypes.ClauseArena;
+import solver.solverTypes.GeometricRestarts;
+import solver.solverTypes.HeapVarOrder;
 import solver.solverTypes.LBool;
+import solver.solverTypes.Lit;
 import solver.solverTypes.Literal;
 import solver.solverTypes.SearchParameters;
 import solver.solverTypes.SimpleClause;
-import solver.solverTypes.SimpleVarOrder;
+import solver.solverTypes.VariableStore;
 import exception.IllegalStateException;
 
 public class SimpleSolver implements Solver {
 
     public SimpleSolver() {
+        this(HeapVarOrder::new);
+    }
+
+    /**
+     * Create a solver whose decisions are made by the variable order built by {@code orderFactory} (e.g.,
+     * {@code VMTFVarOrder::new}).
+     */
+    public SimpleSolver(VariableOrder.Factory orderFactory) {
         // constraint management
-        constraints = new SimpleVec<Constraint<SimpleSolver>>();
-        learnts = new SimpleVec<SimpleClause>();
+        clauses = new ClauseArena();
+        constraints = new IntVec();
+        learnts = new IntVec();
+        numCoreLearnts = 0;
+        reduceCandidates = new IntVec();
+        clauseActivityOrder = (int c1, int c2) -> Float.compare(clauses.getActivity(c1), clauses.getActivity(c2));
         clauseActivityIncrement = 1.0;
         clauseActivityDecay = 0.999;
 
         // propagation
-        watches = new SimpleVec<Vec<Constraint<SimpleSolver>>>();
-        undos = new SimpleVec<Vec<Constraint<SimpleSolver>>>();
-        propagationQueue = new SimpleQueue<Literal>();
+        watches = new SimpleVec<IntVec>();
+        binaryWatches = new SimpleVec<IntVec>();
+        binaryConflict = new IntVec(2);
+        ternaryWatches = new SimpleVec<IntVec>();
+        qhead = 0;
 
         // assignments
-        assigns = new SimpleVec<LBool>();
-        trail = new SimpleVec<Literal>();
+        vars = new VariableStore();
+        trail = new IntVec();
         trailLim = new IntVec();
-        reason = new SimpleVec<Constraint<SimpleSolver>>();
-        level = new IntVec();
         rootLevel = -1;
+        assumedLiterals = new IntVec();
+        failedAssumptions = new IntVec();
+        unsatisfiable = false;
+        clauseLits = new IntVec();
+        assumptionLits = new IntVec();
+        chronological = false;
+        keptLiterals = new IntVec();
+        savedTrail = new IntVec();
+        savedReasons = new IntVec();
+        savedHead = 0;
+        lowestLiftedLevel = Integer.MAX_VALUE;
+        liftedUnits = new IntVec();
         model = new BoolVec();
 
-        // variable order (after assigns is initialized)
+        // conflict analysis
+        seen = new IntVec();
+        levelSeen = new IntVec();
+        levelStamp = 0;
+        seenStamp = 0;
+        analyzeReason = new IntVec();
+        analyzeStack = new IntVec();
+        analyzeToClear = new IntVec();
+        learntClause = new IntVec();
+
+        // variable order (after vars is initialized)
         activity = new DoubleVec();
         varActivityIncrement = 1.0;
         varActivityDecay = 0.95;
-        variableOrder = new SimpleVarOrder(assigns, activity);
+        variableOrder = orderFactory.create(vars, activity);
+
+        // search
+        searchParameters = new SearchParameters(0.95, 0.999);
+        restartPolicy = new GeometricRestarts();
+        random = new Random(91648253);
+        targetSize = 0;
+        bestSize = 0;
+        rephases = 0;
+        simplifyAssigns = -1;
+        nextSimplifyPropagations = 0;
+        terminate = null;
+        terminated = false;
+        learn = null;
+        learnMaxLength = 0;
     }
 
     @Override
@@ -56,16 +105,20 @@ public class SimpleSolver implements Solver {
     @Override
     public int newVariable(int newVars) {
         int newIndex = numVars() + newVars;
+        // grow per-variable state first, since the variable order may read it when a variable is added
+        vars.growTo(newIndex);
+        activity.growTo(newIndex, 0);
+        seen.growTo(newIndex, 0);
+        levelSeen.growTo(newIndex + 1, 0);
         for(int i=0; i<newVars; ++i) {
-            watches.push(new SimpleVec<Constraint<SimpleSolver>>());
-            watches.push(new SimpleVec<Constraint<SimpleSolver>>());
-            undos.push(new SimpleVec<Constraint<SimpleSolver>>());
+            watches.push(new IntVec());
+            watches.push(new IntVec());
+            binaryWatches.push(new IntVec());
+            binaryWatches.push(new IntVec());
+            ternaryWatches.push(new IntVec());
+            ternaryWatches.push(new IntVec());
             variableOrder.newVar();
         }
-        reason.growTo(newIndex, null);
-        assigns.growTo(newIndex, LBool.UNDEFINED);
-        level.growTo(newIndex, -1);
-        activity.growTo(newIndex, 0);
         return newIndex;
     }
 
@@ -74,17 +127,30 @@ public class SimpleSolver implements Solver {
      */
     @Override
     public boolean addClause(Vec<Literal> literals) {
-        Pair<Boolean, SimpleClause> newClauseResult = SimpleClause.clauseNew(this, literals, false);
-        if(!newClauseResult.getFirst()) {
+        clauseLits.clear();
+        for(int i=0; i<literals.size(); ++i)
+            clauseLits.push(Lit.fromLiteral(literals.get(i)));
+        return addClause(clauseLits);
+    }
+
+    /**
+     * Add a problem clause given as int literals (see Lit). The clause is normalized in place, so the contents of 
+     * {@code ps} are undefined afterwards.
+     */
+    public boolean addClause(IntVec ps) {
+        // clauses are simplified against the top-level assignment only
+        cancelAssumptions(0);
+        int clause = SimpleClause.clauseNew(this, ps, false);
+        if(clause == SimpleClause.TOP_LEVEL_CONFLICT) {
             // clause creation failed: either this is an empty clause, or it's a unit clause that conflicts 
             // with a pre-existing top-level assignment
+            unsatisfiable = true;
             return false;
         }
         else {
-            SimpleClause clause = newClauseResult.getSecond();
-            if(clause == null)
-                // clause is either unit (and enqueued), already satisfied, or must be satisfied regardless of the 
-                // assignment, so don't bother adding it to the problem set
+            if(clause == ClauseArena.CREF_UNDEF)
+                // clause is either unit (and enqueued), binary (and stored in the implication lists), already 
+                // satisfied, or must be satisfied regardless of the assignment, so don't add it to the problem set
                 return true;
             else {
                 constraints.push(clause);
@@ -97,58 +163,54 @@ public class SimpleSolver implements Solver {
     /**
      * Top-level simplification of constraint database. Remove any satisfied constraints and simplify the remaining 
      * constraints under the current (partial) assignment. Returns false if a top-level conflict is found.
+     * 
+     * Simplification walks every clause, so it is skipped unless there are new top-level assignments since the last 
+     * simplification, and at least as many propagations as there were words of clause memory then. The cost of a 
+     * simplification is thus spread over the propagations that follow it.
      * Pre-condition: decision level is 0
      * Post-condition: propagation queue is empty
      */
     @Override
     public boolean simplifyDB() {
+        if(decisionLevel() == assumedLiterals.size())
+            // drop the assumption levels kept by the last call to solve()
+            cancelAssumptions(0);
         if(decisionLevel() != 0)
             throw new IllegalStateException("Decision level must be 0 before simplifying the constraint database.");
-        if(propagate().isPresent()) {
+        if(unsatisfiable)
+            return false;
+        if(propagate() != ClauseArena.CREF_UNDEF) {
+            unsatisfiable = true;
             return false;
         }
+        if(numAssigns() == simplifyAssigns || propagations < nextSimplifyPropagations)
+            return true;
         
-        simplifyConstraints(constraints);
-        simplifyLearntClauses(learnts);
+        simplifyClauses(constraints);
+        simplifyClauses(learnts);
+        numCoreLearnts = countLearnts(TIER_CORE);
+        checkGarbage();
+        simplifications += 1;
+        simplifyAssigns = numAssigns();
+        nextSimplifyPropagations = propagations + clauses.liveSize();
         return true;
     }
 
     /**
-     * Simplify the set of problem constraints by removing the ones that are satisfied. Works identically to 
-     * simplifyLearntClauses (in violation of DRY principle :( ) but has to be duplicated because of Java's lack of 
-     * covariance (right now learnts have type IVec<SimpleClause> while problem constraints are 
-     * IVec<IConstraint<SimpleSolver>>). 
-     */
-    private void simplifyConstraints(Vec<Constraint<SimpleSolver>> constraints) {
-        int j = 0;
-        for(int i=0; i<constraints.size(); ++i) {
-            if(constraints.get(i).simplify(this))
-                constraints.get(i).remove(this);
-            else {
-                constraints.set(j, constraints.get(i));
-                j += 1;
-            }
-        }
-        constraints.shrinkBy(constraints.size() - j);
-    }
-
-    /**
-     * Simplify the set of learnt clauses by removing the ones that are satisfied. Works identically to 
-     * simplifyConstraints (in violation of DRY principle :( ) but has to be duplicated because of Java's lack of 
-     * covariance (right now learnts have type IVec<SimpleClause> while problem constraints are 
-     * IVec<IConstraint<SimpleSolver>>). 
+     * Simplify a set of clauses (problem constraints or learnt clauses) by removing the ones that are satisfied.
      */
-    private void simplifyLearntClauses(Vec<SimpleClause> learntClauses) {
+    private void simplifyClauses(IntVec crefs) {
         int j = 0;
-        for(int i=0; i<learntClauses.size(); ++i) {
-            if(learntClauses.get(i).simplify(this))
-                learntClauses.get(i).remove(this);
+        for(int i=0; i<crefs.size(); ++i) {
+            int cref = crefs.get(i);
+            if(SimpleClause.simplify(this, cref))
+                SimpleClause.remove(this, cref);
             else {
-                learntClauses.set(j, learntClauses.get(i));
+                crefs.set(j, cref);
                 j += 1;
             }
         }
-        learntClauses.shrinkBy(learntClauses.size() - j);
+        crefs.shrinkBy(crefs.size() - j);
     }
     
     @Override
@@ -158,129 +220,537 @@ public class SimpleSolver implements Solver {
 
     @Override
     public boolean solve(Vec<Literal> assumptions) {
-        SearchParameters params = new SearchParameters(0.95, 0.999);
-        double numConflicts = 100;
-        double numLearnts = numConstraints() / 3.0;
+        return solve(assumptions, restartPolicy);
+    }
+
+    /**
+     * Solve under the given assumptions (see {@link Solver#solve(Vec)}), deciding when to restart with 
+     * {@code policy} for this call only.
+     * 
+     * The assumption levels are left on the trail when solve() returns, so a following call whose assumptions start 
+     * the same way only backtracks to the first assumption that differs, rather than assuming and propagating all of 
+     * them again. Adding a clause or simplifying drops them.
+     */
+    public boolean solve(Vec<Literal> assumptions, RestartPolicy policy) {
+        assumptionLits.clear();
+        for(int i=0; i<assumptions.size(); ++i)
+            assumptionLits.push(Lit.fromLiteral(assumptions.get(i)));
+        return solveLimited(assumptionLits, policy).equals(LBool.TRUE);
+    }
+
+    /**
+     * Solve under the assumptions {@code assumptions}, given as int literals (see Lit). Returns TRUE or FALSE like 
+     * solve(), or UNDEFINED if the terminate callback (see setTerminate()) stopped the search.
+     */
+    public LBool solveLimited(IntVec assumptions) {
+        return solveLimited(assumptions, restartPolicy);
+    }
+
+    /**
+     * Solve under the int literal assumptions {@code assumptions} (see solveLimited(IntVec)), deciding when to restart 
+     * with {@code policy} for this call only.
+     */
+    public LBool solveLimited(IntVec assumptions, RestartPolicy policy) {
+        // keep the assumption levels of the previous call, up to the first assumption that differs
+        int kept = 0;
+        while(kept < assumptions.size() && kept < assumedLiterals.size() 
+                && assumedLiterals.get(kept) == assumptions.get(kept))
+            kept += 1;
+        cancelAssumptions(kept);
+
+        SearchParameters params = searchParameters;
+        vars.setUseTargetPhases(params.getTargetPhases());
+        chronological = params.getChronoBacktrackThreshold() > 0;
+        nextRephase = conflicts + params.getRephaseInterval();
+        policy.reset();
+        // the learnt clause limit grows on a conflict schedule of its own, independent of the restart policy
+        maxLearnts = numConstraints() / 3.0;
+        learntsAdjustInterval = 100;
+        learntsAdjustCountdown = (int)learntsAdjustInterval;
         LBool status = LBool.UNDEFINED;
+        minimizedLiterals = 0;
+        failedAssumptions.clear();
+        if(unsatisfiable)
+            return LBool.FALSE;
+        // finish propagating the kept levels first: they may be missing top-level units enqueued by addClause(), and 
+        // implications undone with the assumption levels above them (see liftedAssertion())
+        int conflict = propagate();
+        if(conflict != ClauseArena.CREF_UNDEF) {
+            int conflictLevel = chronological ? conflictLevel(conflict) : decisionLevel();
+            analyzeFinal(conflict);
+            cancelAssumptions(Math.max(conflictLevel - 1, 0));
+            return LBool.FALSE;
+        }
 
-        // push incremental assumptions
-        for(int i=0; i<assumptions.size(); ++i) {
-            if(!assume(assumptions.get(i)) || propagate().isPresent()) {
-                cancelUntil(0);
-                return false;
+        // push the remaining incremental assumptions, one level each
+        for(int i=kept; i<assumptions.size(); ++i) {
+            int p = assumptions.get(i);
+            assumedLiterals.push(p);
+            if(!assume(p)) {
+                // p is already false: it fails together with the assumptions that imply its negation
+                int stamp = nextSeenStamp();
+                failedAssumptions.push(p);
+                seen.set(Lit.var(p), stamp);
+                analyzeFinalSeen(stamp);
+                cancelAssumptions(i);
+                return LBool.FALSE;
+            }
+            conflict = propagate();
+            if(conflict != ClauseArena.CREF_UNDEF) {
+                int conflictLevel = chronological ? conflictLevel(conflict) : decisionLevel();
+                analyzeFinal(conflict);
+                cancelAssumptions(Math.max(conflictLevel - 1, 0));
+                return LBool.FALSE;
             }
         }
 
         rootLevel = decisionLevel();
 
         // solve
-        while(status.equals(LBool.UNDEFINED)) {
-            status = search((int)numConflicts, (int)numLearnts, params);
-            numConflicts *= 1.5;
-            numLearnts *= 1.1;
+        terminated = false;
+        while(status.equals(LBool.UNDEFINED) && !terminated) {
+            status = search(policy, params);
+            if(status.equals(LBool.UNDEFINED) && !terminated) {
+                policy.restarted();
+                restarts += 1;
+            }
         }
 
-        cancelUntil(0);
-        return status.equals(LBool.TRUE);
+        // search leaves the trail at the last assumption level that is free of conflicts
+        assumedLiterals.shrinkBy(assumedLiterals.size() - decisionLevel());
+        return status;
     }
 
-    private boolean assume(Literal p) {
+    /**
+     * Final conflict analysis, for a conflict at or below the assumption levels: collect the assumptions that imply 
+     * the conflict in failedAssumptions. If there are none, the problem is unsatisfiable regardless of assumptions.
+     */
+    private void analyzeFinal(int conflict) {
+        int stamp = nextSeenStamp();
+        if(conflict == BINARY_CONFLICT) {
+            seen.set(Lit.var(binaryConflict.get(0)), stamp);
+            seen.set(Lit.var(binaryConflict.get(1)), stamp);
+        }
+        else {
+            int size = clauses.size(conflict);
+            for(int i=0; i<size; ++i)
+                seen.set(Lit.var(clauses.lit(conflict, i)), stamp);
+        }
+        analyzeFinalSeen(stamp);
+    }
+
+    /**
+     * Add to failedAssumptions the assumptions that (through the reasons of the literals on the trail) imply the 
+     * literals whose variables are marked with the seen stamp. Literals of level 0 need no assumptions. Literals 
+     * without a reason that aren't the assumption of their level are learnt unit clauses, which don't either.
+     */
+    private void analyzeFinalSeen(int stamp) {
+        for(int i = trail.size() - 1; i >= 0 && decisionLevel() > 0 && i >= trailLim.get(0); --i) {
+            int q = trail.get(i);
+            int x = Lit.var(q);
+            int level = vars.level(x);
+            if(seen.get(x) != stamp || level == 0)
+                continue;
+            if(vars.reason(x) == ClauseArena.CREF_UNDEF) {
+                if(level <= assumedLiterals.size() && assumedLiterals.get(level - 1) == q)
+                    failedAssumptions.push(q);
+            }
+            else {
+                reasonLiterals(x, analyzeReason);
+                for(int j=0; j<analyzeReason.size(); ++j)
+                    seen.set(Lit.var(analyzeReason.get(j)), stamp);
+            }
+        }
+        if(failedAssumptions.size() == 0)
+            unsatisfiable = true;
+    }
+
+    /**
+     * Backtrack to {@code level}, at or below the assumption levels, and forget the assumptions above it.
+     */
+    private void cancelAssumptions(int level) {
+        cancelUntil(level);
+        assumedLiterals.shrinkBy(assumedLiterals.size() - level);
+    }
+
+    private boolean assume(int p) {
         trailLim.push(trail.size());
+        // an assumption that is already true opens a level without assigning a variable, so levels may outnumber them
+        if(decisionLevel() >= levelSeen.size())
+            levelSeen.growTo(decisionLevel() + 1, 0);
         return enqueue(p);
     }
 
-    public boolean enqueue(Literal p) { return enqueue(p, null); }
+    public boolean enqueue(int p) { return enqueue(p, ClauseArena.CREF_UNDEF); }
 
-    public boolean enqueue(Literal p, Constraint<SimpleSolver> from) {
-        switch(value(p)) {
-            case FALSE:
-                // enqueued a conflicting assignment
-                return false;
-            case TRUE:
-                // enqueued an existing, consistent assignment
-                return true;
-            case UNDEFINED:
-                // enqueued a new fact, so store it
-                int varP = p.var();
-                assigns.set(varP, LBool.fromBoolean(!p.sign()));
-                variableOrder.setAssigned(varP);
-                level.set(varP, decisionLevel());
-                reason.set(varP, from);
-                trail.push(p);
-                propagationQueue.insert(p);
-                return true;
-            default:
-                // should not get here, since LBools can only be T/F/UNDEF...
-                throw new IllegalStateException("Somehow you have an LBool that isn't TRUE, FALSE, or UNDEFINED. " +
-                        "Update the switch statement in SimpleSolver.enqueue().");
+    /**
+     * Enqueue p as true, implied by {@code from}: a clause reference, an inline binary reason (see 
+     * {@link VariableStore#binaryReason(int)}), or ClauseArena.CREF_UNDEF.
+     */
+    public boolean enqueue(int p, int from) {
+        byte pValue = vars.value(p);
+        if(pValue == LBool.L_FALSE)
+            // enqueued a conflicting assignment
+            return false;
+        else if(pValue == LBool.L_TRUE)
+            // enqueued an existing, consistent assignment
+            return true;
+        else {
+            // enqueued a new fact, so store it (at the level of its reason, which may be below the current level if 
+            // backtracking chronologically)
+            int level = (chronological && from != ClauseArena.CREF_UNDEF) ? implicationLevel(p, from) : decisionLevel();
+            vars.assign(p, level, from);
+            variableOrder.setAssigned(Lit.var(p));
+            trail.push(p);
+            return true;
         }
     }
 
-    private Optional<Constraint<SimpleSolver>> propagate() {
-        while(propagationQueue.size() > 0) {
-            Literal p = propagationQueue.dequeue();
-            Vec<Constraint<SimpleSolver>> temp = new SimpleVec<Constraint<SimpleSolver>>();
-            watches.get(p.index()).moveTo(temp);
+    /**
+     * Propagate all enqueued facts, i.e., the trail from qhead onwards. Returns the conflicting clause, 
+     * BINARY_CONFLICT if a binary clause is conflicting (its literals are then in binaryConflict), or 
+     * ClauseArena.CREF_UNDEF if there is no conflict.
+     * 
+     * Binary clauses are propagated first, straight from the implication lists, since they never need to read 
+     * clause memory. Ternary clauses come next: their watches carry both other literals, so they don't read clause 
+     * memory either, and they never move between watch lists.
+     * 
+     * The watch list of p is compacted in place: watches that stay on p are copied down to index j, and watches that 
+     * moved to another literal are dropped. Nothing is allocated.
+     */
+    private int propagate() {
+        while(qhead < trail.size()) {
+            int p = trail.get(qhead);
+            qhead += 1;
+            propagations += 1;
+            if(savedHead < savedTrail.size() && vars.value(savedTrail.get(savedHead)) == LBool.L_TRUE)
+                replaySavedTrail();
+
+            IntVec implied = binaryWatches.get(p);
+            for(int i=0; i<implied.size(); ++i) {
+                int q = implied.get(i);
+                byte qValue = vars.value(q);
+                if(qValue == LBool.L_TRUE)
+                    continue;
+                else if(qValue == LBool.L_FALSE) {
+                    // binary clause (-p | q) is conflicting
+                    binaryConflict.set(0, q);
+                    binaryConflict.set(1, Lit.neg(p));
+                    qhead = trail.size();
+                    return BINARY_CONFLICT;
+                }
+                else
+                    enqueue(q, VariableStore.binaryReason(Lit.neg(p)));
+            }
+
+            IntVec ternaries = ternaryWatches.get(p);
+            for(int i=0; i<ternaries.size(); i += 3) {
+                int a = ternaries.get(i + 1);
+                int b = ternaries.get(i + 2);
+                byte aValue = vars.value(a);
+                byte bValue = vars.value(b);
+                if(aValue == LBool.L_TRUE || bValue == LBool.L_TRUE)
+                    continue;
+                if(aValue == LBool.L_FALSE) {
+                    if(bValue == LBool.L_FALSE) {
+                        // ternary clause (-p | a | b) is conflicting
+                        qhead = trail.size();
+                        return ternaries.get(i);
+                    }
+                    enqueue(b, ternaries.get(i));
+                }
+                else if(bValue == LBool.L_FALSE)
+                    enqueue(a, ternaries.get(i));
+            }
+
+            IntVec ws = watches.get(p);
+            int size = ws.size();
+            int j = 0;
+            for(int i=0; i<size; i += 2) {
+                int cref = ws.get(i);
+                int blocker = ws.get(i + 1);
+                watchesInspected += 1;
+                if(vars.value(blocker) == LBool.L_TRUE) {
+                    // clause is satisfied by its blocker, so keep the watch without looking at the clause
+                    ws.set(j, cref);
+                    ws.set(j + 1, blocker);
+                    j += 2;
+                    continue;
+                }
+                clauseVisits += 1;
+                if(SimpleClause.propagate(this, cref, p))
+                    // the clause now watches another literal
+                    continue;
 
-            for(int i=0; i<temp.size(); ++i) {
-                if(!temp.get(i).propagate(this, p)) {
-                    // constraint is conflicting: copy remaining watches to watches[p] and return the constraint
-                    for(int j=i+1; j<temp.size(); ++j) {
-                        watches.get(p.index()).push(temp.get(j));
+                // the clause still watches p, blocked by its first literal, which is now true unless it's conflicting
+                int first = clauses.lit(cref, 0);
+                ws.set(j, cref);
+                ws.set(j + 1, first);
+                j += 2;
+                if(vars.value(first) == LBool.L_FALSE) {
+                    // constraint is conflicting: keep the remaining watches and return the constraint
+                    for(int k=i+2; k<size; ++k) {
+                        ws.set(j, ws.get(k));
+                        j += 1;
                     }
-                    propagationQueue.clear();
-                    return Optional.of(temp.get(i));
+                    ws.shrinkBy(size - j);
+                    qhead = trail.size();
+                    return cref;
                 }
             }
+            ws.shrinkBy(size - j);
         }
-        return Optional.empty();
+        return ClauseArena.CREF_UNDEF;
     }
 
     private void cancelUntil(int level) {
-        while(decisionLevel() > level)
-            cancel();
+        if(decisionLevel() <= level)
+            return;
+        if(chronological)
+            cancelUntilOutOfOrder(level);
+        else {
+            while(decisionLevel() > level)
+                cancel();
+            // literals enqueued at the top level (e.g., by addClause()) may still wait for propagation
+            qhead = Math.min(qhead, trail.size());
+        }
+        if(lowestLiftedLevel <= level) {
+            // learnt clauses asserted above the level they are unit at lost their implications: propagate them again
+            qhead = Math.min(qhead, (lowestLiftedLevel == 0) ? 0 : trailLim.get(lowestLiftedLevel - 1));
+            if(lowestLiftedLevel == level)
+                lowestLiftedLevel = Integer.MAX_VALUE;
+        }
+        if(level == 0) {
+            // learnt unit clauses asserted above the top level belong there
+            for(int i=0; i<liftedUnits.size(); ++i) {
+                if(!enqueue(liftedUnits.get(i)))
+                    unsatisfiable = true;
+            }
+            liftedUnits.clear();
+        }
+    }
+
+    /**
+     * Called when the learnt clause {@code lits} is about to be asserted at the root level, above {@code level}, the 
+     * level it is unit at. Once the assumption levels are undone down to {@code level} or below (by a later call to 
+     * solve()), the assertion is undone with them, and the clause must be propagated again.
+     */
+    private void liftedAssertion(IntVec lits, int level) {
+        if(lits.size() == 1)
+            liftedUnits.push(lits.get(0));
+        else if(!chronological)
+            // (with chronological backtracking, enqueue() assigns the asserted literal at its own level)
+            lowestLiftedLevel = Math.min(lowestLiftedLevel, level);
     }
 
     private void cancel() {
         int c = trail.size() - trailLim.last();
-        for(; c > 0; c--)
-            undoOne();
+        for(; c > 0; c--) {
+            undoOne(trail.last());
+            trail.pop();
+        }
         trailLim.pop();
     }
 
-    private void undoOne() {
-        Literal p = trail.last();
-        int x = p.var();
-        assigns.set(x, LBool.UNDEFINED);
-        reason.set(x, null);
-        level.set(x, -1);
+    /**
+     * Backtrack to {@code level} when the levels along the trail may be out of order (see implicationLevel()). 
+     * Literals above the level's trail position that belong to {@code level} or below stay assigned: they are moved 
+     * down, keeping their order, and propagated again, since a conflict may have cut their propagation short.
+     */
+    private void cancelUntilOutOfOrder(int level) {
+        int start = trailLim.get(level);
+        keptLiterals.clear();
+        for(int i = trail.size() - 1; i >= start; --i) {
+            int p = trail.get(i);
+            if(vars.level(Lit.var(p)) <= level)
+                keptLiterals.push(p);
+            else
+                undoOne(p);
+        }
+        trail.shrinkBy(trail.size() - start);
+        trailLim.shrinkBy(trailLim.size() - level);
+        for(int i = keptLiterals.size() - 1; i >= 0; --i)
+            trail.push(keptLiterals.get(i));
+        qhead = Math.min(qhead, start);
+    }
+
+    private void undoOne(int p) {
+        int x = Lit.var(p);
+        if(searchParameters.getPhaseSaving())
+            vars.savePhase(p);
+        vars.unassign(x);
         variableOrder.undo(x);
-        trail.pop();
-        while(undos.get(x).size() > 0) {
-            undos.get(x).last().undo(this, p);
-            undos.get(x).pop();
+    }
+
+    /**
+     * Before backjumping to {@code level}, save the literals (and reasons) of the levels between it and the conflict 
+     * level, which the backjump undoes. Search often makes the same decisions again, and then replaySavedTrail() can 
+     * reassign these literals from their saved reasons instead of having propagation rediscover them.
+     */
+    private void saveTrail(int level) {
+        savedTrail.clear();
+        savedReasons.clear();
+        savedHead = 0;
+        if(decisionLevel() - 1 <= level)
+            return;
+        int end = trailLim.get(decisionLevel() - 1);
+        for(int i = trailLim.get(level); i < end; ++i) {
+            int p = trail.get(i);
+            int x = Lit.var(p);
+            // literals of lower levels, left above their level by chronological backtracking, stay assigned anyway
+            if(vars.level(x) > level) {
+                savedTrail.push(p);
+                savedReasons.push(vars.reason(x));
+            }
+        }
+    }
+
+    /**
+     * Called by propagation once the next literal of the saved trail is true again. Enqueue the implied literals that 
+     * follow it on the saved trail, as long as their saved reasons still imply them, stopping at the next saved 
+     * decision. If a saved reason no longer applies, the rest of the saved trail is dropped and propagation takes over.
+     */
+    private void replaySavedTrail() {
+        savedHead += 1;
+        while(savedHead < savedTrail.size()) {
+            int q = savedTrail.get(savedHead);
+            int from = savedReasons.get(savedHead);
+            if(from == ClauseArena.CREF_UNDEF)
+                // a decision: wait until it is made again
+                return;
+            byte qValue = vars.value(q);
+            if(qValue != LBool.L_TRUE) {
+                if(qValue == LBool.L_FALSE || !savedReasonImplies(q, from)) {
+                    savedTrail.clear();
+                    savedReasons.clear();
+                    savedHead = 0;
+                    return;
+                }
+                enqueue(q, from);
+                trailReplays += 1;
+                // propagation would have read a long clause to find q; ternary and binary reasons come from the watches
+                if(!VariableStore.isBinaryReason(from) && !clauses.isTernary(from))
+                    replaySavedVisits += 1;
+            }
+            savedHead += 1;
+        }
+    }
+
+    /**
+     * Check whether the saved reason {@code from} still implies q, i.e., it still contains q and its other literals 
+     * are all false. The reason may have been deleted or strengthened since it was saved. A reason that isn't ternary 
+     * must also still hold q first, where propagation puts it, so that the clause counts as locked (see 
+     * SimpleClause.isLocked()).
+     */
+    private boolean savedReasonImplies(int q, int from) {
+        if(VariableStore.isBinaryReason(from))
+            return vars.value(VariableStore.binaryReasonLiteral(from)) == LBool.L_FALSE;
+        replayClauseVisits += 1;
+        if(clauses.isDeleted(from) || (!clauses.isTernary(from) && clauses.lit(from, 0) != q))
+            return false;
+        boolean found = false;
+        int size = clauses.size(from);
+        for(int i=0; i<size; ++i) {
+            int lit = clauses.lit(from, i);
+            if(lit == q)
+                found = true;
+            else if(vars.value(lit) != LBool.L_FALSE)
+                return false;
         }
+        return found;
+    }
+
+    /**
+     * Return the level an assignment of p implied by {@code from} belongs to: the highest level among the other 
+     * (false) literals of its reason. Without chronological backtracking, this is always the current decision level.
+     */
+    private int implicationLevel(int p, int from) {
+        if(VariableStore.isBinaryReason(from))
+            return vars.level(Lit.var(VariableStore.binaryReasonLiteral(from)));
+        int level = 0;
+        int size = clauses.size(from);
+        for(int i=0; i<size; ++i) {
+            int lit = clauses.lit(from, i);
+            if(lit != p)
+                level = Math.max(level, vars.level(Lit.var(lit)));
+        }
+        return level;
+    }
+
+    /**
+     * Return the highest level among the (false) literals of the conflict {@code conflict}.
+     */
+    private int conflictLevel(int conflict) {
+        if(conflict == BINARY_CONFLICT)
+            return Math.max(vars.level(Lit.var(binaryConflict.get(0))), vars.level(Lit.var(binaryConflict.get(1))));
+        int level = 0;
+        int size = clauses.size(conflict);
+        for(int i=0; i<size; ++i)
+            level = Math.max(level, vars.level(Lit.var(clauses.lit(conflict, i))));
+        return level;
     }
 
-    private LBool search(int numConflicts, int numLearnts, SearchParameters params) {
-        int conflictCount = 0;
+    /**
+     * Search until a model is found (returns TRUE), the problem is found to be unsatisfiable under the assumptions 
+     * (returns FALSE, below the level of the conflict), or the restart policy asks for a restart (returns UNDEFINED, 
+     * at the level reuseTrailLevel() picked).
+     */
+    private LBool search(RestartPolicy policy, SearchParameters params) {
         varActivityDecay = 1.0 / params.getVarDecay();
         clauseActivityDecay = 1.0 / params.getClauseDecay();
         model.clear();
 
         while(true) {
-            Optional<Constraint<SimpleSolver>> conflict = propagate();
-            if(conflict.isPresent()) {
+            int conflict = propagate();
+            if(conflict != ClauseArena.CREF_UNDEF) {
                 // conflict
-                conflictCount += 1;
-                Vec<Literal> learntClause = new SimpleVec<Literal>();
-                int backtrackLevel = -1;
-                if(decisionLevel() == rootLevel)
+                conflicts += 1;
+                int conflictLevel = chronological ? conflictLevel(conflict) : decisionLevel();
+                if(conflictLevel <= rootLevel) {
+                    // unsatisfiable under the assumptions up to the conflict level; the levels below it are fine
+                    analyzeFinal(conflict);
+                    cancelUntil(Math.max(conflictLevel - 1, 0));
                     return LBool.FALSE;
-                analyze(conflict.get(), learntClause);
-                cancelUntil(Math.max(backtrackLevel, rootLevel));
-                record(learntClause);
+                }
+                if(terminate != null && terminate.terminate()) {
+                    // stopped from outside: drop the conflict and leave the trail at the assumptions
+                    terminated = true;
+                    cancelUntil(rootLevel);
+                    return LBool.UNDEFINED;
+                }
+                variableOrder.conflict();
+                updateTargetPhases(params);
+                // with chronological backtracking, the conflict may lie below the current level: analyze it there
+                cancelUntil(conflictLevel);
+                // jump back to the second highest level in the learnt clause, where it asserts its UIP literal, unless 
+                // that is so far back that it's cheaper to backtrack one level and assign the UIP literal out of order
+                int backtrackLevel = analyze(conflict, learntClause);
+                variableOrder.analyzed();
+                int lbd = computeLBD(learntClause);
+                policy.conflict(lbd, trail.size());
+                if(learn != null && learntClause.size() <= learnMaxLength)
+                    learn.learn(learntClause);
+                if(chronological && learntClause.size() > 1 
+                        && decisionLevel() - backtrackLevel > params.getChronoBacktrackThreshold()) {
+                    cancelUntil(decisionLevel() - 1);
+                    chronoBacktracks += 1;
+                }
+                else {
+                    saveTrail(Math.max(backtrackLevel, rootLevel));
+                    cancelUntil(Math.max(backtrackLevel, rootLevel));
+                    if(backtrackLevel < rootLevel)
+                        liftedAssertion(learntClause, backtrackLevel);
+                }
+                record(learntClause, lbd);
                 decayActivities();
+                if(params.getRephaseInterval() > 0 && conflicts >= nextRephase)
+                    rephase(params);
+                learntsAdjustCountdown -= 1;
+                if(learntsAdjustCountdown == 0) {
+                    learntsAdjustInterval *= 1.5;
+                    learntsAdjustCountdown = (int)learntsAdjustInterval;
+                    maxLearnts *= 1.1;
+                }
             }
             else {
                 // no conflict
@@ -291,7 +761,7 @@ public class SimpleSolver implements Solver {
                         throw new IllegalStateException("simplifyDB() should not have been able to return false. " + 
                                 "See SimpleSolver.search().");
                 }
-                if(learnts.size() - numAssigns() >= numLearnts)
+                if(learnts.size() - numCoreLearnts - numAssigns() >= maxLearnts)
                     // reduce the set of learnt clauses
                     reduceDB();
 
@@ -300,18 +770,21 @@ public class SimpleSolver implements Solver {
                     // model found
                     model.growTo(numVars);
                     for(int i=0; i<numVars; ++i)
-                        model.set(i, value(i) == LBool.TRUE);
+                        model.set(i, vars.varValue(i) == LBool.L_TRUE);
                     cancelUntil(rootLevel);
                     return LBool.TRUE;
                 }
-                else if(conflictCount >= numConflicts) {
-                    // reached bound on number of conflicts, so force a restart
-                    cancelUntil(rootLevel);
+                else if(policy.shouldRestart()) {
+                    // the restart policy asks for a restart; keep the decisions search would make again right away
+                    int level = reuseTrailLevel();
+                    reusedLevels += level - rootLevel;
+                    cancelUntil(level);
+                    targetSize = 0;
                     return LBool.UNDEFINED;
                 }
                 else {
                     // new variable decision
-                    Literal p = variableOrder.selectLiteral();
+                    int p = variableOrder.selectLiteral();
                     boolean result = assume(p);
                     if(!result)
                         throw new IllegalStateException("assume(p) should not have been able to return false.");
@@ -320,6 +793,66 @@ public class SimpleSolver implements Solver {
         }
     }
     
+    /**
+     * Return the level a restart backtracks to. Rather than the root level, it is the highest level such that the 
+     * decisions up to it are all ranked ahead of the variable the variable order would decide next: after a full 
+     * restart, search would make these decisions again (in the same order) and propagate the same literals.
+     */
+    private int reuseTrailLevel() {
+        int next = variableOrder.peekVariable();
+        int level = rootLevel;
+        while(level < decisionLevel() && variableOrder.prefers(Lit.var(trail.get(trailLim.get(level))), next))
+            level += 1;
+        return level;
+    }
+
+    /**
+     * Called on a conflict, before backjumping. The levels below the conflict level form a conflict-free trail; if it is 
+     * the longest one since the last restart (or rephase), remember its assignment as the target (or best) phases.
+     */
+    void updateTargetPhases(SearchParameters params) {
+        if(!params.getTargetPhases() && params.getRephaseInterval() == 0)
+            return;
+        int size = trailLim.last();
+        if(size <= targetSize)
+            return;
+        // the best trail is never shorter than the target trail, since both are reset on a best rephase
+        boolean isBest = size > bestSize;
+        for(int i=0; i<size; ++i)
+            vars.setTargetPhase(trail.get(i), isBest);
+        targetSize = size;
+        if(isBest)
+            bestSize = size;
+    }
+
+    /**
+     * Reset the saved phases, cycling through the original (positive) phases, their inversion, the best phases and 
+     * random phases. The target phases are forgotten, and the next rephase is scheduled further away each time.
+     */
+    void rephase(SearchParameters params) {
+        switch(rephases % 4) {
+            case 0:
+                for(int x=0; x<numVars(); ++x)
+                    vars.setPhase(x, false);
+                break;
+            case 1:
+                for(int x=0; x<numVars(); ++x)
+                    vars.setPhase(x, true);
+                break;
+            case 2:
+                vars.restoreBestPhases();
+                bestSize = 0;
+                break;
+            default:
+                for(int x=0; x<numVars(); ++x)
+                    vars.setPhase(x, random.nextBoolean());
+        }
+        vars.clearTargetPhases();
+        targetSize = 0;
+        rephases += 1;
+        nextRephase = conflicts + (long)params.getRephaseInterval() * (rephases + 1);
+    }
+
     /**
      * Analyze the input conflict and produce a reason clause.
      * Pre-conditions:
@@ -327,66 +860,284 @@ public class SimpleSolver implements Solver {
      *      the current decision level must be greater than root level
      * Post-condition:
      *      outLearnt[0] is the asserting literal at level outBacktrackLevel (the returned int)
-     * Side effect:
-     *      will undo part of the trail, but not beyond the last decision level
+     * 
+     * The first-UIP clause is minimized (see minimizeLearnt()) before the backtrack level is computed.
+     * Antecedents subsumed by an intermediate resolvent are strengthened on the fly (see SimpleClause.strengthen()).
+     * The trail is walked backwards by index and no assignment is undone: backtracking is left to cancelUntil(). 
+     * Variables are marked as seen by stamping them with a per-conflict counter, so nothing needs to be cleared (or 
+     * allocated) between conflicts.
      */
-    private int analyze(Constraint<SimpleSolver> conflict, Vec<Literal> outLearnt) {
+    private int analyze(int conflict, IntVec outLearnt) {
         assert (outLearnt.size() == 0) :
             "Pre-condition failure in analyze: outLearnt input should be cleared.";
         assert (decisionLevel() > rootLevel) :
             "Pre-condition failure in analyze: current decision level must be greater than root level.";
         
-        BoolVec seen = new BoolVec(numVars(), false);
+        int stamp = nextSeenStamp();
         int counter = 0;
-        Literal p = Literal.UNDEFINED_LITERAL;
+        int p = Lit.UNDEF;
+        int index = trail.size() - 1;
 
-        Vec<Literal> reasonForP = new SimpleVec<Literal>();
-        outLearnt.push(null);
-        int outBacktrackLevel = 0;
+        outLearnt.push(Lit.UNDEF);
         do {
-            reasonForP.clear();
-            assert (conflict != null) :
-                "Invariant failure: conflict should not be null. See Solver.analyze().";
-            conflict.calcReason(this, p, reasonForP);
+            analyzeReason.clear();
+            assert (conflict != ClauseArena.CREF_UNDEF) :
+                "Invariant failure: conflict should not be undefined. See Solver.analyze().";
+            calcReason(conflict, p, analyzeReason);
+            if(!VariableStore.isBinaryReason(conflict) && conflict != BINARY_CONFLICT && clauses.isLearnt(conflict))
+                learntUsed(conflict);
             
             // trace reason for p
-            for(int i = 0; i<reasonForP.size(); ++i) {
-                Literal q = reasonForP.get(i);
-                int qVar = q.var();
-                if(!seen.get(qVar)) {
-                    seen.set(qVar, true);
-                    if(level.get(qVar) == decisionLevel())
+            int reasonSize = 0; // literals of the reason above level 0, all of which end up in the resolvent
+            for(int i = 0; i<analyzeReason.size(); ++i) {
+                int q = analyzeReason.get(i);
+                int qVar = Lit.var(q);
+                if(vars.level(qVar) > 0)
+                    reasonSize += 1;
+                if(seen.get(qVar) != stamp) {
+                    seen.set(qVar, stamp);
+                    int qLevel = vars.level(qVar);
+                    if(qLevel > 0)
+                        variableOrder.participated(qVar);
+                    if(qLevel == decisionLevel())
                         counter += 1;
-                    else if(level.get(qVar) > 0) {
-                        outLearnt.push(q.negated());
-                        outBacktrackLevel = Math.max(outBacktrackLevel, level.get(qVar));
-                    }
+                    else if(qLevel > 0)
+                        outLearnt.push(Lit.neg(q));
                 }
+            }
 
-                // select next literal to look at
-                do {
-                    p = trail.last();
-                    conflict = reason.get(p.var());
-                    undoOne();
-                } while(!seen.get(p.var()) && trail.size() > 0);
-                counter -= 1;
+            // if the resolvent is no larger than the reason, it is the antecedent minus p (and level 0 literals): it 
+            // subsumes the antecedent, so p can be removed from the clause (unless this is the last resolution step, 
+            // where the learnt clause would duplicate the strengthened one)
+            if(p != Lit.UNDEF && counter > 1 && !VariableStore.isBinaryReason(conflict) 
+                    && !clauses.isTernary(conflict) && clauses.size(conflict) > 3
+                    && (outLearnt.size() - 1) + counter == reasonSize) {
+                SimpleClause.strengthen(this, conflict, p);
+                strengthenedClauses += 1;
             }
+
+            // select next literal to look at (skipping seen literals of lower levels, which chronological 
+            // backtracking may leave above the current level on the trail)
+            while(seen.get(Lit.var(trail.get(index))) != stamp 
+                    || vars.level(Lit.var(trail.get(index))) != decisionLevel())
+                index -= 1;
+            p = trail.get(index);
+            index -= 1;
+            conflict = vars.reason(Lit.var(p));
+            counter -= 1;
         } while(counter > 0);
-        outLearnt.set(0, p.negated());
+        outLearnt.set(0, Lit.neg(p));
+
+        minimizeLearnt(outLearnt, stamp);
+
+        int outBacktrackLevel = 0;
+        for(int i=1; i<outLearnt.size(); ++i)
+            outBacktrackLevel = Math.max(outBacktrackLevel, vars.level(Lit.var(outLearnt.get(i))));
         return outBacktrackLevel;
     }
 
-    private void record(Vec<Literal> clauseVec) {
-        Literal p = clauseVec.get(0);   // saving so we have this after clauseVec gets cleared
-        Pair<Boolean, SimpleClause> newClauseResult = SimpleClause.clauseNew(this, clauseVec, true);
-        assert (newClauseResult.getFirst()) :
+    /**
+     * Remove from the learnt clause every literal (except the UIP in outLearnt[0]) that is implied by the other 
+     * literals of the clause through the reasons of their variables, as in MiniSat's recursive minimization.
+     * Pre-condition: the variables of the clause are marked with the given seen stamp
+     */
+    private void minimizeLearnt(IntVec outLearnt, int stamp) {
+        // a literal can only be removed through literals at levels that occur in the clause
+        int abstractLevels = 0;
+        for(int i=1; i<outLearnt.size(); ++i)
+            abstractLevels |= abstractLevel(Lit.var(outLearnt.get(i)));
+
+        int j = 1;
+        for(int i=1; i<outLearnt.size(); ++i) {
+            int q = outLearnt.get(i);
+            if(vars.reason(Lit.var(q)) == ClauseArena.CREF_UNDEF || !litRedundant(q, abstractLevels, stamp)) {
+                outLearnt.set(j, q);
+                j += 1;
+            }
+        }
+        minimizedLiterals += outLearnt.size() - j;
+        outLearnt.shrinkBy(outLearnt.size() - j);
+    }
+
+    /**
+     * Check whether the (false) literal p is implied by the literals marked with the seen stamp, by depth-first search 
+     * through the reasons of the variables involved. Variables proven to be implied are marked too, so later checks 
+     * can stop at them; if p is not redundant, the marks added by this call are removed again.
+     */
+    private boolean litRedundant(int p, int abstractLevels, int stamp) {
+        analyzeStack.clear();
+        analyzeStack.push(p);
+        analyzeToClear.clear();
+        while(analyzeStack.size() > 0) {
+            int x = Lit.var(analyzeStack.last());
+            analyzeStack.pop();
+            reasonLiterals(x, analyzeReason);
+            for(int i=0; i<analyzeReason.size(); ++i) {
+                int q = analyzeReason.get(i);
+                int qVar = Lit.var(q);
+                if(seen.get(qVar) == stamp || vars.level(qVar) == 0)
+                    continue;
+                if(vars.reason(qVar) != ClauseArena.CREF_UNDEF && (abstractLevel(qVar) & abstractLevels) != 0) {
+                    seen.set(qVar, stamp);
+                    analyzeStack.push(q);
+                    analyzeToClear.push(qVar);
+                }
+                else {
+                    // reached a decision (or a level not in the clause), so p can't be removed
+                    for(int k=0; k<analyzeToClear.size(); ++k)
+                        seen.set(analyzeToClear.get(k), 0);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace the contents of {@code out} with the (false) literals of the reason of the assigned variable x, 
+     * excluding the literal of x itself. Unlike calcReason(), this does not bump clause activity.
+     */
+    private void reasonLiterals(int x, IntVec out) {
+        out.clear();
+        int from = vars.reason(x);
+        if(VariableStore.isBinaryReason(from))
+            out.push(VariableStore.binaryReasonLiteral(from));
+        else {
+            int size = clauses.size(from);
+            for(int i=0; i<size; ++i) {
+                int lit = clauses.lit(from, i);
+                if(Lit.var(lit) != x)
+                    out.push(lit);
+            }
+        }
+    }
+
+    private int abstractLevel(int x) {
+        return 1 << (vars.level(x) & 31);
+    }
+
+    /**
+     * Called when the learnt clause {@code cref} takes part in conflict analysis. Mark it as used, and lower its LBD if 
+     * it spans fewer decision levels under the current assignment (which may promote it to a better tier).
+     */
+    void learntUsed(int cref) {
+        int lbd = clauses.getLBD(cref);
+        if(lbd > CORE_LBD) {
+            int newLBD = computeLBD(cref);
+            if(newLBD < lbd) {
+                clauses.setLBD(cref, newLBD);
+                lbd = newLBD;
+                if(lbd <= CORE_LBD)
+                    numCoreLearnts += 1;
+            }
+        }
+        clauses.setUsed(cref, (lbd <= MID_LBD) ? 2 : 1);
+    }
+
+    /**
+     * Return the LBD (literal block distance) of a clause whose literals are all assigned, i.e., the number of distinct 
+     * decision levels among its literals.
+     */
+    private int computeLBD(IntVec lits) {
+        int stamp = nextLevelStamp();
+        int lbd = 0;
+        for(int i=0; i<lits.size(); ++i) {
+            int level = vars.level(Lit.var(lits.get(i)));
+            if(levelSeen.get(level) != stamp) {
+                levelSeen.set(level, stamp);
+                lbd += 1;
+            }
+        }
+        return lbd;
+    }
+
+    /**
+     * Return the LBD of the clause {@code cref}, whose literals must all be assigned.
+     */
+    private int computeLBD(int cref) {
+        int stamp = nextLevelStamp();
+        int lbd = 0;
+        int size = clauses.size(cref);
+        for(int i=0; i<size; ++i) {
+            int level = vars.level(Lit.var(clauses.lit(cref, i)));
+            if(levelSeen.get(level) != stamp) {
+                levelSeen.set(level, stamp);
+                lbd += 1;
+            }
+        }
+        return lbd;
+    }
+
+    private int nextLevelStamp() {
+        levelStamp += 1;
+        if(levelStamp == Integer.MAX_VALUE) {
+            for(int i=0; i<levelSeen.size(); ++i)
+                levelSeen.set(i, 0);
+            levelStamp = 1;
+        }
+        return levelStamp;
+    }
+
+    /**
+     * Return a fresh stamp for marking variables as seen. When the counter wraps around, the 
+     * stamps are reset so that no stale mark can match.
+     */
+    private int nextSeenStamp() {
+        seenStamp += 1;
+        if(seenStamp == Integer.MAX_VALUE) {
+            for(int i=0; i<seen.size(); ++i)
+                seen.set(i, 0);
+            seenStamp = 1;
+        }
+        return seenStamp;
+    }
+
+    /**
+     * Extend {@code outReason} with the literals (made true) that imply p, given what implied it: a clause reference 
+     * or an inline binary reason. When explaining a conflict, p is Lit.UNDEF and {@code from} may also be 
+     * BINARY_CONFLICT.
+     */
+    private void calcReason(int from, int p, IntVec outReason) {
+        if(from == BINARY_CONFLICT) {
+            outReason.push(Lit.neg(binaryConflict.get(0)));
+            outReason.push(Lit.neg(binaryConflict.get(1)));
+        }
+        else if(VariableStore.isBinaryReason(from))
+            outReason.push(Lit.neg(VariableStore.binaryReasonLiteral(from)));
+        else
+            SimpleClause.calcReason(this, from, p, outReason);
+    }
+
+    /**
+     * Add the learnt clause (asserting its first literal) with the LBD it had at the conflict.
+     */
+    private void record(IntVec clauseVec, int lbd) {
+        int p = clauseVec.get(0);   // saving so we have this after clauseVec gets cleared
+        // binary clauses aren't allocated, so their reason is the other literal, stored inline
+        int from = (clauseVec.size() == 2)
+                ? VariableStore.binaryReason(clauseVec.get(1))
+                : ClauseArena.CREF_UNDEF;
+        int clause = SimpleClause.clauseNew(this, clauseVec, true);
+        assert (clause != SimpleClause.TOP_LEVEL_CONFLICT) :
             "Constructing clause should not fail here.";
-        SimpleClause clause = newClauseResult.getSecond();
-        boolean enqueueResult = enqueue(p, clause);
+        if(clause != ClauseArena.CREF_UNDEF)
+            from = clause;
+        boolean enqueueResult = enqueue(p, from);
         assert(enqueueResult) :
             "Enqueuing clause should not fail here.";
-        if(clause != null)
-            learnts.push(clause);
+        if(clause != ClauseArena.CREF_UNDEF)
+            addLearnt(clause, lbd);
+    }
+
+    /**
+     * Keep track of the new learnt clause {@code cref}, with LBD {@code lbd}, for reduceDB().
+     */
+    void addLearnt(int cref, int lbd) {
+        clauses.setLBD(cref, lbd);
+        clauses.setUsed(cref, 1);
+        if(lbd <= CORE_LBD)
+            numCoreLearnts += 1;
+        learnts.push(cref);
     }
 
     private void decayActivities() {
@@ -403,71 +1154,356 @@ public class SimpleSolver implements Solver {
     }
 
     /**
-     * Remove half of the learnt clauses, minus some locked clauses. (A locked clause is a clause that is the reason 
-     * for a current assignment). Clauses below a certain level of activity can also be removed.
+     * Reduce the set of learnt clauses. Learnt clauses fall into three tiers, by LBD and recent use:
+     *      core:  LBD <= CORE_LBD; always kept
+     *      mid:   LBD <= MID_LBD and used in conflict analysis since one of the last two reductions; kept
+     *      local: all other learnt clauses; the less active half of them is removed
+     * Clauses that are the reason for an assignment are never removed. Each reduction counts down the "used" counters, 
+     * so mid-tier clauses that are no longer used drop to the local tier.
      */
-    private void reduceDB() {
-        int i, j;
-        double limit = clauseActivityIncrement / learnts.size();
-        sortByActivity(learnts);
-        for(i = 0, j = 0; i < learnts.size() / 2; ++i) {
-            if(!learnts.get(i).isLocked(this))
-                learnts.get(i).remove(this);
+    void reduceDB() {
+        reduceCandidates.clear();
+        int j = 0;
+        for(int i=0; i<learnts.size(); ++i) {
+            int cref = learnts.get(i);
+            int tier = learntTier(cref);
+            int used = clauses.getUsed(cref);
+            if(used > 0)
+                clauses.setUsed(cref, used - 1);
+            if(tier == TIER_LOCAL && !SimpleClause.isLocked(this, cref))
+                reduceCandidates.push(cref);
             else {
-                learnts.set(j, learnts.get(i));
+                learnts.set(j, cref);
                 j += 1;
             }
         }
-        for(; i<learnts.size(); ++i) {
-            if(!learnts.get(i).isLocked(this)
-                    && learnts.get(i).getActivity() < limit)
-                learnts.get(i).remove(this);
-            else {
-                learnts.set(j, learnts.get(i));
-                j += 1;
+        learnts.shrinkBy(learnts.size() - j);
+
+        // remove the less active half of the local tier: select the median activity rather than sorting
+        int numRemoved = reduceCandidates.size() / 2;
+        if(numRemoved > 0)
+            reduceCandidates.nthElement(numRemoved, clauseActivityOrder);
+        for(int i=0; i<reduceCandidates.size(); ++i) {
+            int cref = reduceCandidates.get(i);
+            if(i < numRemoved)
+                SimpleClause.remove(this, cref);
+            else
+                learnts.push(cref);
+        }
+        numCoreLearnts = countLearnts(TIER_CORE);
+        checkGarbage();
+    }
+
+    /**
+     * Return the tier (TIER_CORE, TIER_MID or TIER_LOCAL) of the learnt clause {@code cref}; see reduceDB().
+     */
+    private int learntTier(int cref) {
+        int lbd = clauses.getLBD(cref);
+        if(lbd <= CORE_LBD)
+            return TIER_CORE;
+        else if(lbd <= MID_LBD && clauses.getUsed(cref) > 0)
+            return TIER_MID;
+        return TIER_LOCAL;
+    }
+
+    private int countLearnts(int tier) {
+        int count = 0;
+        for(int i=0; i<learnts.size(); ++i) {
+            if(learntTier(learnts.get(i)) == tier)
+                count += 1;
+        }
+        return count;
+    }
+
+    /**
+     * Compact the clause arena if enough of it is taken up by deleted clauses.
+     */
+    private void checkGarbage() {
+        if(clauses.wasted() > clauses.size() * GARBAGE_FRACTION)
+            garbageCollect();
+    }
+
+    /**
+     * Copy all live clauses into a fresh arena and update every clause reference held by the solver (watch lists, 
+     * reasons, problem constraints and learnt clauses).
+     */
+    private void garbageCollect() {
+        ClauseArena to = new ClauseArena(clauses.liveSize());
+        // saved reasons aren't worth relocating
+        savedTrail.clear();
+        savedReasons.clear();
+        savedHead = 0;
+
+        for(int lit=0; lit<watches.size(); ++lit) {
+            IntVec ws = watches.get(lit);
+            for(int i=0; i<ws.size(); i += 2)
+                ws.set(i, clauses.relocate(ws.get(i), to));
+        }
+        for(int lit=0; lit<ternaryWatches.size(); ++lit) {
+            IntVec ws = ternaryWatches.get(lit);
+            for(int i=0; i<ws.size(); i += 3)
+                ws.set(i, clauses.relocate(ws.get(i), to));
+        }
+        for(int i=0; i<trail.size(); ++i) {
+            int x = Lit.var(trail.get(i));
+            int cref = vars.reason(x);
+            if(cref != ClauseArena.CREF_UNDEF && !VariableStore.isBinaryReason(cref)) {
+                // reasons of top-level facts may have been removed by simplifyDB()
+                if(clauses.isDeleted(cref))
+                    vars.setReason(x, ClauseArena.CREF_UNDEF);
+                else
+                    vars.setReason(x, clauses.relocate(cref, to));
             }
         }
-        learnts.shrinkBy(i - j);
+        for(int i=0; i<constraints.size(); ++i)
+            constraints.set(i, clauses.relocate(constraints.get(i), to));
+        for(int i=0; i<learnts.size(); ++i)
+            learnts.set(i, clauses.relocate(learnts.get(i), to));
+
+        clauses = to;
     }
 
     @Override
     public BoolVec getModel() { return model; }
+
+    @Override
+    public Vec<Literal> getFailedAssumptions() {
+        SimpleVec<Literal> failed = new SimpleVec<Literal>();
+        for(int i=0; i<failedAssumptions.size(); ++i)
+            failed.push(Lit.toLiteral(failedAssumptions.get(i)));
+        return failed;
+    }
+
+    /**
+     * Return whether the int literal {@code p} is one of the assumptions the last call to solve() failed on.
+     */
+    public boolean isFailedAssumption(int p) {
+        for(int i=0; i<failedAssumptions.size(); ++i) {
+            if(failedAssumptions.get(i) == p)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isUnsatisfiable() { return unsatisfiable; }
+
+    /**
+     * Set the callback polled on every conflict; solveLimited() returns UNDEFINED as soon as it returns true. Pass 
+     * null to remove it.
+     */
+    public void setTerminate(IncrementalSolver.Terminate terminate) { this.terminate = terminate; }
+
+    /**
+     * Set the callback given every learnt clause of at most {@code maxLength} literals, as int literals (see Lit) with 
+     * the asserting literal first. Pass null to remove it.
+     */
+    public void setLearn(int maxLength, IncrementalSolver.Learn learn) {
+        this.learnMaxLength = maxLength;
+        this.learn = learn;
+    }
     
     private int decisionLevel() { return trailLim.size(); }
     
-    private int numVars() { return assigns.size(); }
+    private int numVars() { return vars.numVars(); }
 
     private int numAssigns() { return trail.size(); }
 
-    private int numConstraints() { return constraints.size(); }
+    private int numConstraints() { return constraints.size() + numBinaryClauses; }
     
-    private LBool value(int varID) {
-        return assigns.get(varID);
+    /**
+     * Return the per-variable state (assignments, levels, reasons and trail positions).
+     */
+    public VariableStore getVariableStore() {
+        return vars;
     }
-    
-    public LBool value(Literal p) {
-        return p.sign()
-                ? assigns.get(p.var()).negate()
-                : assigns.get(p.var());
+
+    /**
+     * Add the binary clause (p | q) to the implication lists: -p implies q and -q implies p. Binary clauses are never 
+     * removed; a satisfied binary clause costs one literal check when its implication is scanned.
+     */
+    public void addBinaryClause(int p, int q, boolean learnt) {
+        binaryWatches.get(Lit.neg(p)).push(q);
+        binaryWatches.get(Lit.neg(q)).push(p);
+        if(learnt)
+            numLearntBinaryClauses += 1;
+        else
+            numBinaryClauses += 1;
+    }
+
+    /**
+     * Return the number of learnt clauses (stored in the clause arena) in the core, mid and local tiers, respectively. 
+     * Learnt binary clauses are not counted; they are kept forever, like core clauses.
+     */
+    public int getCoreLearnts() { return countLearnts(TIER_CORE); }
+    public int getMidLearnts() { return countLearnts(TIER_MID); }
+    public int getLocalLearnts() { return countLearnts(TIER_LOCAL); }
+
+    /**
+     * Return the number of binary problem clauses and learnt binary clauses, respectively.
+     */
+    public int getNumBinaryClauses() { return numBinaryClauses; }
+    public int getNumLearntBinaryClauses() { return numLearntBinaryClauses; }
+
+    /**
+     * Make clause {@code cref} watch literal {@code p}, i.e., inspect the clause when {@code p} becomes true. The 
+     * blocker is another literal of the clause; while it is true, propagation skips the clause without reading it.
+     */
+    public void addWatch(int p, int cref, int blocker) {
+        IntVec ws = watches.get(p);
+        ws.push(cref);
+        ws.push(blocker);
+    }
+
+    /**
+     * Remove the watch of clause {@code cref} from the watch list of literal {@code p}.
+     */
+    public void removeWatch(int p, int cref) {
+        IntVec ws = watches.get(p);
+        int j = 0;
+        for(int i=0; i<ws.size(); i += 2) {
+            if(ws.get(i) == cref)
+                continue;
+            ws.set(j, ws.get(i));
+            ws.set(j + 1, ws.get(i + 1));
+            j += 2;
+        }
+        ws.shrinkBy(ws.size() - j);
+    }
+
+    /**
+     * Watch the ternary clause {@code cref} on all three of its literals. The watch of each literal holds the clause 
+     * reference followed by the two other literals, so propagation can decide the clause from the watch alone.
+     */
+    public void addTernaryWatches(int cref) {
+        int x = clauses.lit(cref, 0);
+        int y = clauses.lit(cref, 1);
+        int z = clauses.lit(cref, 2);
+        addTernaryWatch(Lit.neg(x), cref, y, z);
+        addTernaryWatch(Lit.neg(y), cref, x, z);
+        addTernaryWatch(Lit.neg(z), cref, x, y);
     }
 
-    public int getLiteralDecisionLevel(Literal p) {
-        return level.get(p.var());
+    private void addTernaryWatch(int p, int cref, int a, int b) {
+        IntVec ws = ternaryWatches.get(p);
+        ws.push(cref);
+        ws.push(a);
+        ws.push(b);
     }
 
     /**
-     * Return the constraint which implied the value for variable {@code index}.
+     * Remove the watches of the ternary clause {@code cref} from the watch lists of its three literals.
      */
-    public Constraint<SimpleSolver> getReason(int index) {
-        return reason.get(index);
+    public void removeTernaryWatches(int cref) {
+        for(int i=0; i<3; ++i) {
+            IntVec ws = ternaryWatches.get(Lit.neg(clauses.lit(cref, i)));
+            int j = 0;
+            for(int k=0; k<ws.size(); k += 3) {
+                if(ws.get(k) == cref)
+                    continue;
+                ws.set(j, ws.get(k));
+                ws.set(j + 1, ws.get(k + 1));
+                ws.set(j + 2, ws.get(k + 2));
+                j += 3;
+            }
+            ws.shrinkBy(ws.size() - j);
+        }
     }
 
-    public Vec<Constraint<SimpleSolver>> getWatches(int index) {
-        return watches.get(index);
+    /**
+     * Return the number of literals dequeued for propagation so far.
+     */
+    public long getPropagations() { return propagations; }
+
+    /**
+     * Return the number of literals removed from learnt clauses by minimization during the last call to solve().
+     */
+    public long getMinimizedLiterals() { return minimizedLiterals; }
+
+    /**
+     * Return the number of clauses strengthened during conflict analysis so far.
+     */
+    public long getStrengthenedClauses() { return strengthenedClauses; }
+
+    /**
+     * Set the restart policy used by subsequent calls to solve() that don't pass one.
+     */
+    public void setRestartPolicy(RestartPolicy policy) {
+        restartPolicy = policy;
     }
 
-    public void bumpVarActivity(Literal p) {
-        int x = p.var();
+    /**
+     * Return the number of times simplifyDB() simplified the clauses (rather than skipping) so far.
+     */
+    public long getSimplifications() { return simplifications; }
+
+    /**
+     * Return the number of restarts so far.
+     */
+    public long getRestarts() { return restarts; }
+
+    /**
+     * Return the total number of decision levels that restarts kept rather than undoing so far.
+     */
+    public long getReusedLevels() { return reusedLevels; }
+
+    /**
+     * Return the number of literals reassigned from their saved reasons after a backjump (see saveTrail()) so far.
+     */
+    public long getTrailReplays() { return trailReplays; }
+
+    /**
+     * Return the number of clauses read to check saved reasons before replaying them so far. These reads are not 
+     * counted by getClauseVisits().
+     */
+    public long getReplayClauseVisits() { return replayClauseVisits; }
+
+    /**
+     * Return the number of literals replayed from a long (non-ternary) clause so far, i.e., the clause reads that 
+     * propagation would have needed to find them.
+     */
+    public long getReplaySavedVisits() { return replaySavedVisits; }
+
+    /**
+     * Return the number of conflicts after which search backtracked chronologically (one level) so far.
+     */
+    public long getChronoBacktracks() { return chronoBacktracks; }
+
+    /**
+     * Set the parameters used by subsequent calls to solve(): decay factors, phase saving, target phases, rephasing 
+     * and the chronological backtracking threshold.
+     */
+    public void setSearchParameters(SearchParameters params) {
+        searchParameters = params;
+    }
+
+    /**
+     * Return the number of times the saved phases were reset by rephasing so far.
+     */
+    public int getRephases() { return rephases; }
+
+    /**
+     * Return the number of conflicts found during search so far.
+     */
+    public long getConflicts() { return conflicts; }
+
+    /**
+     * Return the number of watch list entries inspected during propagation so far.
+     */
+    public long getWatchesInspected() { return watchesInspected; }
+
+    /**
+     * Return the number of clauses read (dereferenced) during propagation so far, i.e., the watch list entries 
+     * that could not be skipped using their blocker literal.
+     */
+    public long getClauseVisits() { return clauseVisits; }
+
+    public ClauseArena getClauseArena() {
+        return clauses;
+    }
+
+    public void bumpVarActivity(int p) {
+        int x = Lit.var(p);
         double oldActivity = activity.get(x);
         double newActivity = oldActivity + varActivityIncrement;
         activity.set(x, newActivity);
@@ -483,32 +1519,29 @@ public class SimpleSolver implements Solver {
         varActivityIncrement *= 1e-100;
     }
 
-    public void bumpClauseActivity(SimpleClause clause) {
-        double newActivity = clause.getActivity() + clauseActivityIncrement;
-        clause.setActivity(newActivity);
-        if(newActivity > 1e100)
+    public void bumpClauseActivity(int cref) {
+        float newActivity = (float)(clauses.getActivity(cref) + clauseActivityIncrement);
+        clauses.setActivity(cref, newActivity);
+        if(newActivity > 1e20)
             rescaleClauseActivity();
-        // TODO: might not need to sort here
-        sortByActivity(learnts);
     }
 
     private void rescaleClauseActivity() {
+        // clause activities are stored as floats in the arena, so rescale well before they could overflow
         for(int i=0; i<learnts.size(); ++i) {
-            double activity = learnts.get(i).getActivity();
-            learnts.get(i).setActivity(activity * 1e-100);
+            int cref = learnts.get(i);
+            clauses.setActivity(cref, clauses.getActivity(cref) * 1e-20f);
         }
-        clauseActivityIncrement *= 1e-100;
-    }
-
-    private void sortByActivity(Vec<SimpleClause> clauses) {
-        clauses.sort((SimpleClause c1, SimpleClause c2) -> {
-            return Double.compare(c2.getActivity(), c1.getActivity());
-        });
+        clauseActivityIncrement *= 1e-20;
     }
 
     /* Constraint management */
-    private Vec<Constraint<SimpleSolver>> constraints; // list of constraints
-    private Vec<SimpleClause> learnts; // learnt clauses
+    private ClauseArena clauses; // memory for all clauses; the clause lists below hold references into it
+    private IntVec constraints; // list of problem clauses
+    private IntVec learnts; // learnt clauses
+    private int numCoreLearnts; // number of learnt clauses in the core tier (see reduceDB())
+    private IntVec reduceCandidates; // reused buffer for the learnt clauses reduceDB() may remove
+    private IntComparator clauseActivityOrder; // orders clause references by ascending activity
     private double clauseActivityIncrement; // clause activity increment
     private double clauseActivityDecay; // decay factor for clause activity
 
@@ -519,20 +1552,94 @@ public class SimpleSolver implements Solver {
     private VariableOrder variableOrder; // keep track of dynamic variable order
 
     /* Propagation */
-    // For each literal p, a list of constraints watching p. A constraint will be inspected when p becomes true.
-    private Vec<Vec<Constraint<SimpleSolver>>> watches;
+    // For each literal p, a list of clauses watching p. A clause will be inspected when p becomes true. Each watch is 
+    // two consecutive ints: the clause reference and a blocker literal from the same clause.
+    private Vec<IntVec> watches;
 
-    // For each variable x, a list of constraints that need to update when x becomes unbound by backtracking
-    private Vec<Vec<Constraint<SimpleSolver>>> undos;
-    private Queue<Literal> propagationQueue; // propagation queue
+    // For each literal p, the literals implied by binary clauses when p becomes true. Binary clauses live only here.
+    private Vec<IntVec> binaryWatches;
+    private int numBinaryClauses; // number of binary problem clauses
+    private int numLearntBinaryClauses; // number of learnt binary clauses
+    private IntVec binaryConflict; // literals of the conflicting binary clause, when propagate() returns BINARY_CONFLICT
+
+    // For each literal p, the ternary clauses containing -p. Each watch is three consecutive ints: the clause 
+    // reference and the two other literals of the clause. Ternary clauses are watched on all three literals.
+    private Vec<IntVec> ternaryWatches;
+    private int qhead; // index of the next trail literal to propagate; the trail past it is the propagation queue
 
     /* Assignments */
-    private Vec<LBool> assigns; // current assignment indexed on variables
-    private Vec<Literal> trail; // list of assignments in chronological order
+    private VariableStore vars; // assignment, level, reason and trail position of each variable
+    private IntVec trail; // list of assignments in chronological order
     private IntVec trailLim; // separator indices for different decision levels in a trail
-    private Vec<Constraint<SimpleSolver>> reason; // for each variable, the constraint that implied its value
-    private IntVec level; // for each variable, the decision level at which it was assigned
     private int rootLevel; // separates incremental and search assumptions
+    private IntVec assumedLiterals; // the assumption of each level up to rootLevel, kept between calls to solve()
+    private IntVec failedAssumptions; // the assumptions the last call to solve() failed on (see analyzeFinal())
+    private boolean unsatisfiable; // whether the problem is unsatisfiable regardless of assumptions
+    private IntVec clauseLits; // reused buffer for the int literals of a clause added through addClause(Vec)
+    private IntVec assumptionLits; // reused buffer for the int literals of the assumptions passed to solve(Vec)
+    private boolean chronological; // whether levels may be out of order along the trail (chronological backtracking)
+    private IntVec keptLiterals; // reused buffer for the literals that stay assigned in cancelUntilOutOfOrder()
+    private IntVec savedTrail; // literals undone by the last backjump (see saveTrail())
+    private IntVec savedReasons; // reasons of the literals of savedTrail
+    private int savedHead; // index of the next literal of savedTrail that propagation may meet
+    private int lowestLiftedLevel; // lowest level of an assertion lifted to the root level (see liftedAssertion())
+    private IntVec liftedUnits; // learnt unit clauses asserted at the root level rather than the top level
 
     private BoolVec model; // store the final model
+
+    /* Conflict analysis */
+    private IntVec seen; // for each variable, the stamp of the last conflict analysis that saw it
+    private IntVec levelSeen; // for each decision level, the stamp of the last LBD computation that saw it
+    private int levelStamp; // stamp of the current (or last) LBD computation
+    private int seenStamp; // stamp of the current (or last) conflict analysis
+    private IntVec analyzeReason; // reused buffer for the reason of the literal being analyzed
+    private IntVec analyzeStack; // depth-first search stack of learnt clause minimization
+    private IntVec analyzeToClear; // variables marked as seen by the current minimization step
+    private IntVec learntClause; // reused buffer for the clause learnt from a conflict (cleared by record())
+
+    /* Search */
+    private SearchParameters searchParameters; // parameters for solve()
+    private RestartPolicy restartPolicy; // restart policy for solve() calls that don't specify one
+    private double maxLearnts; // number of learnt clauses (beyond the assigned literals) that triggers reduceDB()
+    private double learntsAdjustInterval; // conflicts between increases of maxLearnts
+    private int learntsAdjustCountdown; // conflicts until the next increase of maxLearnts
+    private Random random; // source of random phases
+    private int targetSize; // length of the conflict-free trail the target phases were taken from
+    private int bestSize; // length of the conflict-free trail the best phases were taken from
+    private int rephases; // number of rephases so far
+    private long nextRephase; // number of conflicts at which to rephase next
+    private int simplifyAssigns; // number of top-level assignments at the last simplifyDB()
+    private long nextSimplifyPropagations; // number of propagations before simplifyDB() may simplify again
+    private IncrementalSolver.Terminate terminate; // polled on every conflict to stop the search early (may be null)
+    private boolean terminated; // whether terminate stopped the current (or last) solve() call
+    private IncrementalSolver.Learn learn; // given the learnt clauses of at most learnMaxLength literals (may be null)
+    private int learnMaxLength;
+
+    /* Statistics */
+    private long propagations; // number of literals propagated
+    private long conflicts; // number of conflicts found during search
+    private long restarts; // number of restarts
+    private long chronoBacktracks; // number of conflicts after which search backtracked chronologically
+    private long trailReplays; // number of literals reassigned from the saved trail
+    private long replayClauseVisits; // number of clauses read to check saved reasons
+    private long replaySavedVisits; // number of literals replayed from a long clause, which propagation would read
+    private long reusedLevels; // number of decision levels that restarts kept (see reuseTrailLevel())
+    private long simplifications; // number of times simplifyDB() simplified the clauses
+    private long minimizedLiterals; // number of literals removed from learnt clauses in the current solve() call
+    private long strengthenedClauses; // number of antecedents strengthened during conflict analysis
+    private long watchesInspected; // number of watch list entries inspected during propagation
+    private long clauseVisits; // number of clauses dereferenced during propagation
+
+    // returned by propagate() when the conflict is a binary clause; can't clash with a clause reference
+    private static final int BINARY_CONFLICT = Integer.MIN_VALUE;
+
+    // learnt clauses with an LBD up to CORE_LBD are kept forever; up to MID_LBD, as long as they are used
+    private static final int CORE_LBD = 2;
+    private static final int MID_LBD = 6;
+    private static final int TIER_CORE = 0;
+    private static final int TIER_MID = 1;
+    private static final int TIER_LOCAL = 2;
+
+    // fraction of the clause arena that may be wasted before it is compacted
+    private static final double GARBAGE_FRACTION = 0.2;
 }
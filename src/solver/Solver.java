@@ -18,7 +18,7 @@ public interface Solver {
 
     /**
      * Introduce new clauses. May detect some conflicts and return false. If this happens, the 
-     * solver may be left in an undefined state and shouldn't be used further.
+     * problem is unsatisfiable and later calls to solve() return false (see isUnsatisfiable()).
      */
     public boolean addClause(Vec<Literal> literals);
 
@@ -32,14 +32,17 @@ public interface Solver {
      * it is unsatisfiable under the assumptions. If satisfiable, the model may be accessed using 
      * getModel().
      * 
-     * After determining truth or contradiction, the assumptions are undone and the solver is 
-     * returned to a usable state.
+     * After determining truth or contradiction, the solver may be used again. An implementation may keep the 
+     * assumptions on its trail, so that a following call whose assumptions start the same way doesn't have to assume 
+     * them again. Such a call drops the kept assumptions from the first one that differs, and adding a clause drops 
+     * all of them. A conflict at the top level is sticky: the problem is then unsatisfiable regardless of 
+     * assumptions, and every later call returns false.
      * 
      * Note: if not overriding the definition of {@code solve{}} with no arguments, then the implementation of solve 
      * must handle the case when {@code assumptions} is null.
      * 
-     * An alternative interface might distinguish between unsatisfiable and unsatisfiable under 
-     * the assumptions.
+     * To distinguish between unsatisfiable and unsatisfiable under the assumptions, see getFailedAssumptions() and 
+     * isUnsatisfiable().
      */
     public boolean solve(Vec<Literal> assumptions);
 
@@ -54,4 +57,17 @@ public interface Solver {
      * If the problem has been solved and is satisfiable, returns the model.
      */
     public BoolVec getModel();
+
+    /**
+     * If the last call to solve() returned false, returns the assumptions it failed on: a subset of the assumptions 
+     * that is unsatisfiable together with the problem. Returns an empty vector if the problem is unsatisfiable 
+     * regardless of the assumptions (see isUnsatisfiable()).
+     */
+    public Vec<Literal> getFailedAssumptions();
+
+    /**
+     * Returns true once the problem is known to be unsatisfiable regardless of any assumptions, e.g., after 
+     * addClause() or solve() found a conflict at the top level. Calls to solve() then return false right away.
+     */
+    public boolean isUnsatisfiable();
 }
@@ -1,9 +1,19 @@
 package solver;
 
-import solver.solverTypes.Literal;
+import collections.DoubleVec;
+import solver.solverTypes.VariableStore;
 
 public interface VariableOrder {
 
+    /**
+     * Creates the variable order of a solver, given the solver's assignments and variable activities (e.g.,
+     * {@code HeapVarOrder::new}).
+     */
+    @FunctionalInterface
+    public interface Factory {
+        public VariableOrder create(VariableStore assignments, DoubleVec activity);
+    }
+
     /**
      * Called when a new variable is created.
      */
@@ -31,13 +41,44 @@ public interface VariableOrder {
     public int selectVariable();
     
     /**
-     * Called to select a new, unassigned Literal for assignment (variable with polarity).
+     * Return the unassigned variable that selectVariable() would select next, without selecting it.
+     */
+    public int peekVariable();
+
+    /**
+     * Return whether this order ranks {@code var} strictly ahead of {@code other}, i.e., would select {@code var} 
+     * first if both were unassigned.
+     * In VSIDS, this means that {@code var} has the higher activity.
+     */
+    public boolean prefers(int var, int other);
+
+    /**
+     * Called to select a new, unassigned literal for assignment (variable with polarity), returned in its int 
+     * encoding (see {@code Lit}).
      * In VSIDS, this would be the variable with the highest activity.
      */
-    public Literal selectLiteral();
+    public int selectLiteral();
     
     /**
      * Called when a variable is assigned.
      */
     public void setAssigned(int var);
+
+    /**
+     * Called at each conflict (above the root level), before it is analyzed. The conflict hooks do nothing by default, 
+     * for orders that only react to update().
+     */
+    public default void conflict() { }
+
+    /**
+     * Called for each variable that takes part in the analysis of a conflict, i.e., that occurs in the conflicting 
+     * clause or in a reason resolved on while deriving the learnt clause.
+     */
+    public default void participated(int var) { }
+
+    /**
+     * Called once a conflict has been analyzed (i.e., after participated() for each of its variables), before 
+     * backjumping.
+     */
+    public default void analyzed() { }
 }
@@ -0,0 +1,117 @@
+package solver.solverTypes;
+
+import collections.DoubleVec;
+import collections.IntVec;
+
+/**
+ * Conflict history-based branching (CHB). Each variable has a score that is an exponential moving average of the
+ * rewards it received: whenever a variable is assigned (by a decision or by propagation), it is rewarded once the
+ * propagation ends, with more reward if the variable took part in a recent conflict, and more again if the
+ * propagation itself ended in a conflict. Decisions take the unassigned variable with the highest score, from an
+ * indexed max-heap (see {@code HeapBasedVarOrder}).
+ *
+ * The step size of the moving average starts out large and shrinks at each conflict, so that scores settle down over
+ * time. The variable activities of the solver are not used.
+ */
+public class CHBVarOrder extends HeapBasedVarOrder {
+
+    private static final double INITIAL_STEP_SIZE = 0.4;
+    private static final double MIN_STEP_SIZE = 0.06;
+    private static final double STEP_SIZE_DECREMENT = 1e-6;
+    // reward multiplier for assignments whose propagation did not end in a conflict
+    private static final double NO_CONFLICT_MULTIPLIER = 0.9;
+
+    private IntVec lastConflict;    // for each variable, the last conflict it took part in
+    private IntVec pending;         // variables assigned since the last rewards were handed out
+    private boolean analyzing;      // whether a conflict is being analyzed (its rewards wait for analyzed())
+    private int conflicts;
+    private double stepSize;
+
+    public CHBVarOrder(VariableStore assignments, DoubleVec activity) {
+        super(assignments, new DoubleVec());
+
+        this.lastConflict = new IntVec();
+        this.pending = new IntVec();
+        this.analyzing = false;
+        this.conflicts = 0;
+        this.stepSize = INITIAL_STEP_SIZE;
+    }
+
+    @Override
+    public void newVar() {
+        score.push(0.0);
+        lastConflict.push(0);
+        super.newVar();
+    }
+
+    @Override
+    public void update(int var) {
+        // scores only change through rewards
+    }
+
+    @Override
+    public void undo(int var) {
+        // if a propagation is undone without a conflict (e.g., by a restart), it still earns its reward first; during 
+        // the analysis of a conflict (e.g., backtracking to the conflict level first), the reward waits for analyzed()
+        if(pending.size() > 0 && !analyzing)
+            reward(NO_CONFLICT_MULTIPLIER);
+        super.undo(var);
+    }
+
+    /**
+     * Hand out the rewards of the last propagation, which ended without a conflict, then select the variable with the 
+     * highest score. peekVariable() doesn't hand them out, so it only reads the order.
+     */
+    @Override
+    public int selectVariable() {
+        if(pending.size() > 0)
+            reward(NO_CONFLICT_MULTIPLIER);
+        return super.selectVariable();
+    }
+
+    @Override
+    public void setAssigned(int var) {
+        pending.push(var);
+    }
+
+    @Override
+    public void conflict() {
+        // the variables of this conflict are marked by participated() before the rewards are handed out
+        conflicts += 1;
+        analyzing = true;
+    }
+
+    @Override
+    public void participated(int var) {
+        lastConflict.set(var, conflicts);
+    }
+
+    @Override
+    public void analyzed() {
+        reward(1.0);
+        analyzing = false;
+        if(stepSize > MIN_STEP_SIZE)
+            stepSize -= STEP_SIZE_DECREMENT;
+    }
+
+    /**
+     * Return the score of {@code var}.
+     */
+    public double getScore(int var) {
+        return score.get(var);
+    }
+
+    /**
+     * Reward the variables assigned since the last reward: the reward is inversely proportional to the number of 
+     * conflicts since the variable last took part in one.
+     */
+    private void reward(double multiplier) {
+        for(int i=0; i<pending.size(); ++i) {
+            int var = pending.get(i);
+            double reward = multiplier / (conflicts - lastConflict.get(var) + 1);
+            score.set(var, (1.0 - stepSize) * score.get(var) + stepSize * reward);
+            heap.update(var);
+        }
+        pending.clear();
+    }
+}
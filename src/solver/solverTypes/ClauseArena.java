@@ -0,0 +1,194 @@
+package solver.solverTypes;
+
+import java.util.Arrays;
+
+import collections.IntVec;
+import exception.IllegalArgumentException;
+
+/**
+ * Stores all clauses of a solver in one flat {@code int[]}. A clause is referred to by its clause reference (cref),
+ * which is the offset of its first header word in the arena. Each clause is laid out as:
+ *
+ *      [ size << FLAG_BITS | flags ][ activity (float bits) ][ LBD ][ lit 0 ][ lit 1 ] ... [ lit size-1 ]
+ *
+ * so that propagation reads the literals of a clause from contiguous memory without any pointer hops. The flags record
+ * whether the clause is learnt, deleted, relocated, or ternary (i.e., watched through the solver's ternary watch
+ * lists rather than the two-watched-literal scheme). They also hold a small "used" counter for learnt clauses, which
+ * the solver sets when a clause takes part in conflict analysis and decrements when it reduces the learnt clauses.
+ *
+ * Clauses are never moved or freed individually: {@code free()} only marks a clause as deleted and counts its words
+ * as wasted. Once enough memory is wasted, the owner should copy the live clauses into a fresh arena with
+ * {@code relocate()} and update all of its clause references.
+ */
+public class ClauseArena {
+
+    public static final int CREF_UNDEF = -1;
+
+    private static final int HEADER_SIZE = 3;
+    private static final int FLAG_BITS = 8;
+    private static final int LEARNT_FLAG = 1;
+    private static final int DELETED_FLAG = 2;
+    private static final int RELOCATED_FLAG = 4;
+    private static final int TERNARY_FLAG = 8;
+    private static final int USED_SHIFT = 4;
+    private static final int USED_MASK = 3 << USED_SHIFT;
+    public static final int MAX_USED = 3;
+
+    private int[] memory;
+    private int numWords;
+    private int wastedWords;
+
+    public ClauseArena() {
+        this(1024);
+    }
+
+    public ClauseArena(int initialCapacity) {
+        memory = new int[Math.max(initialCapacity, HEADER_SIZE)];
+        numWords = 0;
+        wastedWords = 0;
+    }
+
+    /**
+     * Allocate a new clause holding the literals of {@code lits} and return its clause reference.
+     */
+    public int alloc(IntVec lits, boolean learnt) {
+        int size = lits.size();
+        int cref = allocHeader(size, learnt);
+        for(int i=0; i<size; ++i)
+            memory[cref + HEADER_SIZE + i] = lits.get(i);
+        return cref;
+    }
+
+    private int allocHeader(int size, boolean learnt) {
+        if(size < 0)
+            throw new IllegalArgumentException("ClauseArena.alloc", size);
+        ensureCapacity(numWords + HEADER_SIZE + size);
+        int cref = numWords;
+        memory[cref] = (size << FLAG_BITS) | (learnt ? LEARNT_FLAG : 0);
+        memory[cref + 1] = Float.floatToRawIntBits(0.0f);
+        memory[cref + 2] = 0;
+        numWords += HEADER_SIZE + size;
+        return cref;
+    }
+
+    /**
+     * Ensure that the underlying array can hold at least {@code size} words. Grows geometrically, since the arena
+     * is expected to hold every clause of large problems.
+     */
+    private void ensureCapacity(int size) {
+        if(size > memory.length) {
+            int newSize = Math.max(size, memory.length + (memory.length >> 1));
+            memory = Arrays.copyOf(memory, newSize);
+        }
+    }
+
+    /**
+     * Mark the clause {@code cref} as deleted. Its memory is reclaimed by the next relocation.
+     */
+    public void free(int cref) {
+        memory[cref] |= DELETED_FLAG;
+        wastedWords += HEADER_SIZE + size(cref);
+    }
+
+    /**
+     * Shrink the clause {@code cref} to its first {@code newSize} literals.
+     */
+    public void shrink(int cref, int newSize) {
+        int oldSize = size(cref);
+        if(newSize > oldSize || newSize < 0)
+            throw new IllegalArgumentException("ClauseArena.shrink", newSize);
+        memory[cref] = (newSize << FLAG_BITS) | (memory[cref] & ((1 << FLAG_BITS) - 1));
+        wastedWords += oldSize - newSize;
+    }
+
+    public int size(int cref) {
+        return memory[cref] >>> FLAG_BITS;
+    }
+
+    public int lit(int cref, int i) {
+        return memory[cref + HEADER_SIZE + i];
+    }
+
+    public void setLit(int cref, int i, int lit) {
+        memory[cref + HEADER_SIZE + i] = lit;
+    }
+
+    public boolean isLearnt(int cref) {
+        return (memory[cref] & LEARNT_FLAG) != 0;
+    }
+
+    public boolean isDeleted(int cref) {
+        return (memory[cref] & DELETED_FLAG) != 0;
+    }
+
+    public boolean isTernary(int cref) {
+        return (memory[cref] & TERNARY_FLAG) != 0;
+    }
+
+    public void setTernary(int cref) {
+        memory[cref] |= TERNARY_FLAG;
+    }
+
+    public int getUsed(int cref) {
+        return (memory[cref] & USED_MASK) >>> USED_SHIFT;
+    }
+
+    public void setUsed(int cref, int used) {
+        if(used < 0 || used > MAX_USED)
+            throw new IllegalArgumentException("ClauseArena.setUsed", used);
+        memory[cref] = (memory[cref] & ~USED_MASK) | (used << USED_SHIFT);
+    }
+
+    public float getActivity(int cref) {
+        return Float.intBitsToFloat(memory[cref + 1]);
+    }
+
+    public void setActivity(int cref, float activity) {
+        memory[cref + 1] = Float.floatToRawIntBits(activity);
+    }
+
+    public int getLBD(int cref) {
+        return memory[cref + 2];
+    }
+
+    public void setLBD(int cref, int lbd) {
+        memory[cref + 2] = lbd;
+    }
+
+    /**
+     * Copy the clause {@code cref} into the arena {@code to} (once) and return its reference in the new arena. The
+     * old copy keeps a forwarding reference, so relocating the same clause again returns the same new reference.
+     */
+    public int relocate(int cref, ClauseArena to) {
+        if((memory[cref] & RELOCATED_FLAG) != 0)
+            return memory[cref + 1];
+
+        int size = size(cref);
+        int newCref = to.allocHeader(size, isLearnt(cref));
+        System.arraycopy(memory, cref, to.memory, newCref, HEADER_SIZE + size);
+        memory[cref] |= RELOCATED_FLAG;
+        memory[cref + 1] = newCref;
+        return newCref;
+    }
+
+    /**
+     * Return the number of words in use (including wasted ones).
+     */
+    public int size() {
+        return numWords;
+    }
+
+    /**
+     * Return the number of words taken up by deleted clauses and removed literals.
+     */
+    public int wasted() {
+        return wastedWords;
+    }
+
+    /**
+     * Return the number of words that should be allocated for a new arena receiving only the live clauses.
+     */
+    public int liveSize() {
+        return numWords - wastedWords;
+    }
+}
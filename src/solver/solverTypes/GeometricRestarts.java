@@ -0,0 +1,48 @@
+package solver.solverTypes;
+
+import solver.RestartPolicy;
+
+/**
+ * Restart after a number of conflicts that grows geometrically: {@code first}, {@code first * factor}, ...
+ * This is the schedule of the original MiniSat paper.
+ */
+public class GeometricRestarts implements RestartPolicy {
+
+    private double first;
+    private double factor;
+
+    private double limit;
+    private int conflicts;  // conflicts since the last restart
+
+    public GeometricRestarts() {
+        this(100, 1.5);
+    }
+
+    public GeometricRestarts(double first, double factor) {
+        this.first = first;
+        this.factor = factor;
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        limit = first;
+        conflicts = 0;
+    }
+
+    @Override
+    public void conflict(int lbd, int trailSize) {
+        conflicts += 1;
+    }
+
+    @Override
+    public boolean shouldRestart() {
+        return conflicts >= (int)limit;
+    }
+
+    @Override
+    public void restarted() {
+        conflicts = 0;
+        limit *= factor;
+    }
+}
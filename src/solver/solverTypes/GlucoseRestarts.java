@@ -0,0 +1,66 @@
+package solver.solverTypes;
+
+import collections.BoundedIntQueue;
+import solver.RestartPolicy;
+
+/**
+ * Glucose-style dynamic restarts. The search restarts when the learnt clauses get worse than usual: when the average
+ * LBD of the last few learnt clauses, scaled by {@code k}, exceeds the average LBD of all learnt clauses so far.
+ *
+ * Restarts are blocked when the search seems close to a model: if a conflict happens with many more literals assigned
+ * than on average (by a factor of {@code r}), the recent LBDs are forgotten, which postpones the next restart.
+ */
+public class GlucoseRestarts implements RestartPolicy {
+
+    private double k;
+    private double r;
+    private int blockingConflicts;  // conflicts before restarts can be blocked
+
+    private BoundedIntQueue recentLBDs;
+    private BoundedIntQueue recentTrailSizes;
+    private long sumLBD;
+    private long conflicts;
+
+    public GlucoseRestarts() {
+        this(50, 5000, 0.8, 1.4, 10000);
+    }
+
+    public GlucoseRestarts(int lbdWindow, int trailWindow, double k, double r, int blockingConflicts) {
+        this.k = k;
+        this.r = r;
+        this.blockingConflicts = blockingConflicts;
+        this.recentLBDs = new BoundedIntQueue(lbdWindow);
+        this.recentTrailSizes = new BoundedIntQueue(trailWindow);
+        reset();
+    }
+
+    @Override
+    public void reset() {
+        recentLBDs.clear();
+        recentTrailSizes.clear();
+        sumLBD = 0;
+        conflicts = 0;
+    }
+
+    @Override
+    public void conflict(int lbd, int trailSize) {
+        conflicts += 1;
+        sumLBD += lbd;
+        // block the restart if the trail is much longer than usual
+        if(conflicts > blockingConflicts && recentLBDs.isFull() && recentTrailSizes.isFull()
+                && trailSize > r * recentTrailSizes.average())
+            recentLBDs.clear();
+        recentTrailSizes.push(trailSize);
+        recentLBDs.push(lbd);
+    }
+
+    @Override
+    public boolean shouldRestart() {
+        return recentLBDs.isFull() && recentLBDs.average() * k > (double)sumLBD / conflicts;
+    }
+
+    @Override
+    public void restarted() {
+        recentLBDs.clear();
+    }
+}
@@ -0,0 +1,83 @@
+package solver.solverTypes;
+
+import collections.DoubleVec;
+import collections.IntHeap;
+import collections.IntVec;
+import solver.VariableOrder;
+
+/**
+ * Base of the variable orders that decide on the unassigned variable with the highest score, from an indexed max-heap
+ * keyed on the scores. Assigned variables are not removed from the heap eagerly: they are skipped (and dropped) when
+ * they reach the top in {@code peekVariable()}.
+ *
+ * Subclasses own the meaning of the scores. A subclass that keeps its own scores must push one for each new variable
+ * before calling {@code newVar()} here, and must restore the heap (e.g., with {@code heap.update()}) after changing
+ * a score.
+ */
+public abstract class HeapBasedVarOrder implements VariableOrder {
+
+    protected VariableStore assignments;
+    protected DoubleVec score;
+
+    // unassigned variables (plus possibly some assigned ones, removed lazily), highest score on top
+    protected IntHeap heap;
+    protected int lastVarID;
+
+    protected HeapBasedVarOrder(VariableStore assignments, DoubleVec score) {
+        this.assignments = assignments;
+        this.score = score;
+
+        this.lastVarID = -1;
+        this.heap = new IntHeap((int a, int b) -> Double.compare(score.get(b), score.get(a)));
+    }
+
+    @Override
+    public void newVar() {
+        lastVarID += 1;
+        heap.insert(lastVarID);
+    }
+
+    @Override
+    public void updateAll() {
+        IntVec unassigned = new IntVec();
+        for(int i=0; i<=lastVarID; ++i) {
+            if(LBool.isUndefined(assignments.varValue(i)))
+                unassigned.push(i);
+        }
+        heap.rebuild(unassigned);
+    }
+
+    @Override
+    public void undo(int var) {
+        heap.insert(var);
+    }
+
+    @Override
+    public int selectVariable() {
+        int next = peekVariable();
+        heap.removeTop();
+        return next;
+    }
+
+    @Override
+    public int peekVariable() {
+        while(!LBool.isUndefined(assignments.varValue(heap.top())))
+            heap.removeTop();
+        return heap.top();
+    }
+
+    @Override
+    public boolean prefers(int var, int other) {
+        return score.get(var) > score.get(other);
+    }
+
+    @Override
+    public int selectLiteral() {
+        return assignments.decisionLiteral(selectVariable());
+    }
+
+    @Override
+    public void setAssigned(int var) {
+        // assigned variables are removed lazily in peekVariable()
+    }
+}
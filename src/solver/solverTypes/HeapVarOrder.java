@@ -0,0 +1,20 @@
+package solver.solverTypes;
+
+import collections.DoubleVec;
+
+/**
+ * VSIDS variable order backed by an indexed max-heap keyed on variable activity. Bumping a variable is an O(log n)
+ * increase-key, and assigned variables are not removed from the heap eagerly: they are skipped (and dropped) when
+ * they reach the top in {@code selectVariable()}.
+ */
+public class HeapVarOrder extends HeapBasedVarOrder {
+
+    public HeapVarOrder(VariableStore assignments, DoubleVec activity) {
+        super(assignments, activity);
+    }
+
+    @Override
+    public void update(int var) {
+        heap.increase(var);
+    }
+}
@@ -3,6 +3,16 @@ package solver.solverTypes;
 public enum LBool {
     TRUE, FALSE, UNDEFINED;
 
+    // Byte encoding used by the solver's VariableStore. The value of a literal is its variable's value XOR its sign 
+    // bit, so an undefined value may show up as either L_UNDEF or L_UNDEF ^ 1; test with isUndefined().
+    public static final byte L_TRUE = 0;
+    public static final byte L_FALSE = 1;
+    public static final byte L_UNDEF = 2;
+
+    public static boolean isUndefined(byte b) {
+        return (b & L_UNDEF) != 0;
+    }
+
     public static LBool fromBoolean(boolean b) {
         return b
                 ? TRUE
@@ -0,0 +1,128 @@
+package solver.solverTypes;
+
+import collections.DoubleVec;
+import collections.IntVec;
+
+/**
+ * Learning rate-based branching (LRB). The learning rate of a variable over the interval it was assigned for is the
+ * fraction of the conflicts in that interval that the variable took part in. Each variable has a score that is an
+ * exponential moving average of its learning rates, updated when the variable is unassigned. Decisions take the
+ * unassigned variable with the highest score, from an indexed max-heap (see {@code HeapBasedVarOrder}).
+ *
+ * The step size of the moving average starts out large and shrinks at each conflict. Scores of variables that stay
+ * unassigned also decay (by a factor per conflict since they were unassigned), which is applied lazily when they
+ * reach the top of the heap, so that variables that are not picked don't keep their old, high scores. The variable
+ * activities of the solver are not used.
+ */
+public class LRBVarOrder extends HeapBasedVarOrder {
+
+    private static final double INITIAL_STEP_SIZE = 0.4;
+    private static final double MIN_STEP_SIZE = 0.06;
+    private static final double STEP_SIZE_DECREMENT = 1e-6;
+    private static final double UNASSIGNED_DECAY = 0.95;
+
+    private IntVec assignedAt;      // for each variable, the number of conflicts when it was last assigned
+    private IntVec unassignedAt;    // for each variable, the number of conflicts when its score last decayed
+    private IntVec participations;  // for each variable, the conflicts it took part in since it was assigned
+    private int conflicts;
+    private double stepSize;
+
+    public LRBVarOrder(VariableStore assignments, DoubleVec activity) {
+        super(assignments, new DoubleVec());
+
+        this.assignedAt = new IntVec();
+        this.unassignedAt = new IntVec();
+        this.participations = new IntVec();
+        this.conflicts = 0;
+        this.stepSize = INITIAL_STEP_SIZE;
+    }
+
+    @Override
+    public void newVar() {
+        score.push(0.0);
+        assignedAt.push(0);
+        unassignedAt.push(0);
+        participations.push(0);
+        super.newVar();
+    }
+
+    @Override
+    public void update(int var) {
+        // scores only change through learning rates
+    }
+
+    /**
+     * Fold the learning rate of {@code var} over the interval it was assigned for into its score.
+     */
+    @Override
+    public void undo(int var) {
+        int interval = conflicts - assignedAt.get(var);
+        if(interval > 0) {
+            double rate = (double)participations.get(var) / interval;
+            score.set(var, (1.0 - stepSize) * score.get(var) + stepSize * rate);
+            heap.update(var);
+        }
+        unassignedAt.set(var, conflicts);
+        super.undo(var);
+    }
+
+    @Override
+    public int peekVariable() {
+        while(true) {
+            int next = heap.top();
+            if(!LBool.isUndefined(assignments.varValue(next))) {
+                heap.removeTop();
+                continue;
+            }
+            int age = conflicts - unassignedAt.get(next);
+            if(age == 0)
+                return next;
+            // decay the score for the conflicts since it was last decayed, and check that it is still on top
+            score.set(next, score.get(next) * Math.pow(UNASSIGNED_DECAY, age));
+            unassignedAt.set(next, conflicts);
+            heap.update(next);
+        }
+    }
+
+    /**
+     * Compare the scores of {@code var} and {@code other} with the decay they are due (see getScore()), since 
+     * peekVariable() only applies it to the variable on top.
+     */
+    @Override
+    public boolean prefers(int var, int other) {
+        return getScore(var) > getScore(other);
+    }
+
+    @Override
+    public void setAssigned(int var) {
+        assignedAt.set(var, conflicts);
+        participations.set(var, 0);
+    }
+
+    @Override
+    public void conflict() {
+        conflicts += 1;
+        if(stepSize > MIN_STEP_SIZE)
+            stepSize -= STEP_SIZE_DECREMENT;
+    }
+
+    @Override
+    public void participated(int var) {
+        participations.set(var, participations.get(var) + 1);
+    }
+
+    @Override
+    public void analyzed() {
+        // participations are folded into the score when a variable is unassigned
+    }
+
+    /**
+     * Return the score of {@code var}. For an unassigned variable this includes the decay for the conflicts since its 
+     * score last decayed, which is not applied to the stored score until it reaches the top of the heap.
+     */
+    public double getScore(int var) {
+        if(!LBool.isUndefined(assignments.varValue(var)))
+            return score.get(var);
+        return score.get(var) * Math.pow(UNASSIGNED_DECAY, conflicts - unassignedAt.get(var));
+    }
+}
@@ -0,0 +1,75 @@
+package solver.solverTypes;
+
+/**
+ * Static helpers for the primitive {@code int} encoding of literals used inside the solver. A literal is stored as
+ * {@code (varID << 1) | sign}, where the sign bit is 1 if the literal is negated. This is the same encoding returned
+ * by {@link Literal#index()}, so an int literal can be used directly to index per-literal arrays (e.g., watch lists).
+ *
+ * {@link Literal} objects should only be needed at the public {@code Solver} API boundary.
+ */
+public final class Lit {
+
+    public static final int UNDEF = make(Variable.VAR_UNDEF, false);
+
+    private Lit() {}
+
+    /**
+     * Return the int literal for variable {@code varID}, negated if {@code isNegated} is true.
+     */
+    public static int make(int varID, boolean isNegated) {
+        return (varID << 1) | (isNegated ? 1 : 0);
+    }
+
+    /**
+     * Return the variable ID of the int literal {@code p}.
+     */
+    public static int var(int p) {
+        return p >> 1;
+    }
+
+    /**
+     * Return true if the int literal {@code p} is negated.
+     */
+    public static boolean sign(int p) {
+        return (p & 1) == 1;
+    }
+
+    /**
+     * Return the int literal with the same variable as {@code p} but the opposite sign.
+     */
+    public static int neg(int p) {
+        return p ^ 1;
+    }
+
+    /**
+     * Convert a {@link Literal} object into its int encoding.
+     */
+    public static int fromLiteral(Literal p) {
+        return p.index();
+    }
+
+    /**
+     * Convert an int literal into a (newly allocated) {@link Literal} object.
+     */
+    public static Literal toLiteral(int p) {
+        return new Literal(var(p), sign(p));
+    }
+
+    /**
+     * Convert a DIMACS literal (variable v, numbered from 1, as {@code v} or {@code -v}) into its int encoding.
+     */
+    public static int fromDimacs(int lit) {
+        return make(Math.abs(lit) - 1, lit < 0);
+    }
+
+    /**
+     * Convert an int literal into a DIMACS literal.
+     */
+    public static int toDimacs(int p) {
+        return sign(p) ? -(var(p) + 1) : var(p) + 1;
+    }
+
+    public static String toString(int p) {
+        return (sign(p) ? "-" : "") + var(p);
+    }
+}
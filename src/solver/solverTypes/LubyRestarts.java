@@ -0,0 +1,69 @@
+package solver.solverTypes;
+
+import solver.RestartPolicy;
+
+/**
+ * Restart after {@code unit * luby(i)} conflicts, where luby(i) is the i-th element of the Luby sequence
+ * 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ... Most restarts are short, but the occasional long run keeps the
+ * search complete.
+ */
+public class LubyRestarts implements RestartPolicy {
+
+    private int unit;
+
+    private int restarts;
+    private int limit;
+    private int conflicts;  // conflicts since the last restart
+
+    public LubyRestarts() {
+        this(100);
+    }
+
+    public LubyRestarts(int unit) {
+        this.unit = unit;
+        reset();
+    }
+
+    /**
+     * Return the x-th (0-based) element of the Luby sequence.
+     */
+    public static int luby(int x) {
+        // find the finite subsequence that contains index x, and its size
+        int size = 1;
+        int seq = 0;
+        while(size < x + 1) {
+            seq += 1;
+            size = 2 * size + 1;
+        }
+        while(size - 1 != x) {
+            size = (size - 1) >> 1;
+            seq -= 1;
+            x = x % size;
+        }
+        return 1 << seq;
+    }
+
+    @Override
+    public void reset() {
+        restarts = 0;
+        limit = unit * luby(0);
+        conflicts = 0;
+    }
+
+    @Override
+    public void conflict(int lbd, int trailSize) {
+        conflicts += 1;
+    }
+
+    @Override
+    public boolean shouldRestart() {
+        return conflicts >= limit;
+    }
+
+    @Override
+    public void restarted() {
+        restarts += 1;
+        limit = unit * luby(restarts);
+        conflicts = 0;
+    }
+}
@@ -3,12 +3,34 @@ package solver.solverTypes;
 public class SearchParameters {
     private double varDecayRate;
     private double clauseDecayRate;
+    private boolean phaseSaving; // decide variables the way they were last assigned
+    private boolean targetPhases; // decide variables as on the longest conflict-free trail since the last restart
+    private int rephaseInterval; // conflicts before the first rephase (0 disables rephasing); later ones are spaced out
+    private int chronoBacktrackThreshold; // backtrack one level instead of backjumping further (0 disables this)
     
     public SearchParameters(double varDecay, double clauseDecay) {
+        this(varDecay, clauseDecay, true, false, 0);
+    }
+
+    public SearchParameters(double varDecay, double clauseDecay, boolean phaseSaving, boolean targetPhases, 
+            int rephaseInterval) {
+        this(varDecay, clauseDecay, phaseSaving, targetPhases, rephaseInterval, 0);
+    }
+
+    public SearchParameters(double varDecay, double clauseDecay, boolean phaseSaving, boolean targetPhases, 
+            int rephaseInterval, int chronoBacktrackThreshold) {
         this.varDecayRate = varDecay;
         this.clauseDecayRate = clauseDecay;
+        this.phaseSaving = phaseSaving;
+        this.targetPhases = targetPhases;
+        this.rephaseInterval = rephaseInterval;
+        this.chronoBacktrackThreshold = chronoBacktrackThreshold;
     }
     
     public double getVarDecay() { return varDecayRate; }
     public double getClauseDecay() { return clauseDecayRate; }
+    public boolean getPhaseSaving() { return phaseSaving; }
+    public boolean getTargetPhases() { return targetPhases; }
+    public int getRephaseInterval() { return rephaseInterval; }
+    public int getChronoBacktrackThreshold() { return chronoBacktrackThreshold; }
 }
@@ -1,195 +1,285 @@
 package solver.solverTypes;
 
-import collections.Vec;
-import collections.Pair;
-import collections.SimpleVec;
+import collections.IntVec;
 import exception.UncheckedInvariantException;
 import solver.SimpleSolver;
 
-public class SimpleClause implements Constraint<SimpleSolver>, Comparable<SimpleClause> {
+/**
+ * Clause operations for the solver. Clauses are not objects: they live in the solver's {@link ClauseArena} and are
+ * passed around as int clause references (crefs). The methods here play the role of the old per-clause methods
+ * (propagate, simplify, calcReason, ...) and take the clause reference as an explicit parameter.
+ */
+public final class SimpleClause {
 
-    private boolean isLearnt;
-    private double activity;
-    private Vec<Literal> literals;
+    // returned by clauseNew() for an empty clause, or a unit clause that conflicts with the top-level assignment
+    public static final int TOP_LEVEL_CONFLICT = -2;
 
-    /**
-     * Use clauseNew to construct clauses
-     */
-    private SimpleClause(Vec<Literal> lits, boolean learnt) {
-        this.literals = lits;
-        this.isLearnt = learnt;
-        this.activity = 0.0;
-    }
+    private SimpleClause() {}
 
-    public boolean isLocked(SimpleSolver solver) {
-        return solver.getReason(literals.get(0).var()).equals(this);
+    public static boolean isLocked(SimpleSolver solver, int cref) {
+        ClauseArena arena = solver.getClauseArena();
+        VariableStore vars = solver.getVariableStore();
+        // a watched clause only ever implies literals[0], but a ternary clause may imply any of its literals
+        int candidates = arena.isTernary(cref) ? 3 : 1;
+        for(int i=0; i<candidates; ++i) {
+            if(vars.reason(Lit.var(arena.lit(cref, i))) == cref)
+                return true;
+        }
+        return false;
     }
 
-    @Override
-    public void remove(SimpleSolver solver) {
-        solver.getWatches(literals.get(0).negated().index()).remove(this);
-        solver.getWatches(literals.get(1).negated().index()).remove(this);
+    /**
+     * Remove the clause from the watcher lists and free it in the arena.
+     */
+    public static void remove(SimpleSolver solver, int cref) {
+        ClauseArena arena = solver.getClauseArena();
+        if(arena.isTernary(cref))
+            solver.removeTernaryWatches(cref);
+        else {
+            solver.removeWatch(Lit.neg(arena.lit(cref, 0)), cref);
+            solver.removeWatch(Lit.neg(arena.lit(cref, 1)), cref);
+        }
+        arena.free(cref);
     }
 
-    @Override
-    public boolean propagate(SimpleSolver solver, Literal p) {
+    /**
+     * Called if the clause is found in the watcher list of p during propagation and its blocker literal is not true.
+     * Returns true if the clause found a new literal to watch and inserted itself into that literal's watcher list, in
+     * which case the caller drops the watch on p. Otherwise the clause keeps watching p, with literals[0] as its
+     * blocker: literals[0] is then either true (the clause is satisfied, or unit and literals[0] has been enqueued) or
+     * false (the clause is conflicting).
+     */
+    public static boolean propagate(SimpleSolver solver, int cref, int p) {
+        ClauseArena arena = solver.getClauseArena();
+        VariableStore vars = solver.getVariableStore();
+
         // Make sure the false literal is literals[1]
-        Literal notP = p.negated();
-        if(literals.get(0).equals(notP)) {
-            literals.set(0, literals.get(1));
-            literals.set(1, notP);
+        int notP = Lit.neg(p);
+        if(arena.lit(cref, 0) == notP) {
+            arena.setLit(cref, 0, arena.lit(cref, 1));
+            arena.setLit(cref, 1, notP);
         }
 
         // if 0th watch is true, then the clause is already satisfied
-        if(solver.value(literals.get(0)) == LBool.TRUE) {
-            // reinsert clause into watcher list
-            solver.getWatches(p.index()).push(this);
-            return true;
-        }
+        int first = arena.lit(cref, 0);
+        if(vars.value(first) == LBool.L_TRUE)
+            return false;
 
         // look for a new literal to watch
-        for(int i = 2; i < literals.size(); ++i) {
-            if(solver.value(literals.get(i)) != LBool.FALSE) {
-                literals.set(1, literals.get(i));
-                literals.set(i, notP);
+        int size = arena.size(cref);
+        for(int i = 2; i < size; ++i) {
+            int lit = arena.lit(cref, i);
+            if(vars.value(lit) != LBool.L_FALSE) {
+                arena.setLit(cref, 1, lit);
+                arena.setLit(cref, i, notP);
                 // insert clause into watcher list
-                solver.getWatches(literals.get(1).negated().index()).push(this);
+                solver.addWatch(Lit.neg(lit), cref, first);
                 return true;
             }
         }
 
-        // clause is unit under assignment
-        solver.getWatches(p.index()).push(this);
-        // enqueue for propagation
-        return solver.enqueue(literals.get(0), this);
+        // clause is unit under assignment (or conflicting, if first is false): enqueue for propagation
+        solver.enqueue(first, cref);
+        return false;
     }
 
-    @Override
-    public boolean simplify(SimpleSolver solver) {
+    /**
+     * At the top level, remove false literals from the clause (returns false), or report that the clause is
+     * satisfied and can be removed (returns true).
+     *
+     * Ternary clauses are never shrunk, since their watches hold copies of their literals. A top-level false literal
+     * in a ternary clause is harmless: propagation treats the clause like the binary clause it has become.
+     */
+    public static boolean simplify(SimpleSolver solver, int cref) {
+        ClauseArena arena = solver.getClauseArena();
+        VariableStore vars = solver.getVariableStore();
+        int size = arena.size(cref);
+        if(arena.isTernary(cref)) {
+            for(int i = 0; i < size; ++i) {
+                if(vars.value(arena.lit(cref, i)) == LBool.L_TRUE)
+                    return true;
+            }
+            return false;
+        }
         int j = 0;
-        for(int i = 0; i < literals.size(); ++i) {
-            LBool iSolverValue = solver.value(literals.get(i));
-            if(iSolverValue == LBool.TRUE)
+        for(int i = 0; i < size; ++i) {
+            int lit = arena.lit(cref, i);
+            byte iSolverValue = vars.value(lit);
+            if(iSolverValue == LBool.L_TRUE)
                 return true;
-            else if(iSolverValue == LBool.UNDEFINED) {
+            else if(LBool.isUndefined(iSolverValue)) {
                 // false literals aren't copied (only occur for i >= 2)
-                literals.set(j, literals.get(i));
+                arena.setLit(cref, j, lit);
                 j += 1;
             }
         }
-        literals.shrinkBy(literals.size() - j);
+        arena.shrink(cref, j);
         return false;
     }
 
-    @Override
-    public void undo(SimpleSolver s, Literal p) {
-        // in this simple implementation, does nothing
+    /**
+     * Remove the true literal p (literals[0]) from the clause, during conflict analysis, after a resolvent turned out
+     * to subsume the clause. All remaining literals are false; the two with the highest decision levels are moved to
+     * the front and watched, so that the watches become unassigned first when the solver backjumps.
+     * Pre-condition: the clause is not ternary and has more than 3 literals (so it keeps at least 3)
+     */
+    public static void strengthen(SimpleSolver solver, int cref, int p) {
+        ClauseArena arena = solver.getClauseArena();
+        VariableStore vars = solver.getVariableStore();
+        if(arena.lit(cref, 0) != p || arena.isTernary(cref) || arena.size(cref) <= 3)
+            throw new UncheckedInvariantException("Invariant failure: only the implied literal of a long clause " +
+                    "can be removed by strengthening.");
+
+        solver.removeWatch(Lit.neg(arena.lit(cref, 0)), cref);
+        solver.removeWatch(Lit.neg(arena.lit(cref, 1)), cref);
+        int size = arena.size(cref);
+        arena.setLit(cref, 0, arena.lit(cref, size - 1));
+        arena.shrink(cref, size - 1);
+
+        // move the two literals with the highest decision levels to the front
+        for(int k=0; k<2; ++k) {
+            int best = k;
+            for(int i=k+1; i<size-1; ++i) {
+                if(vars.level(Lit.var(arena.lit(cref, i))) > vars.level(Lit.var(arena.lit(cref, best)))) 
+                    best = i;
+            }
+            int tmp = arena.lit(cref, k);
+            arena.setLit(cref, k, arena.lit(cref, best));
+            arena.setLit(cref, best, tmp);
+        }
+        solver.addWatch(Lit.neg(arena.lit(cref, 0)), cref, arena.lit(cref, 1));
+        solver.addWatch(Lit.neg(arena.lit(cref, 1)), cref, arena.lit(cref, 0));
     }
 
-    @Override
-    public void calcReason(SimpleSolver solver, Literal p, Vec<Literal> outReason) {
-        // invariant: p == LIT_UNDEFINED or p == literals[0]
-        if(! (p.equals(Literal.UNDEFINED_LITERAL) || p.equals(literals.get(0))))
+    /**
+     * The clause is the reason for p being true. Extend outReason with the set of assignments (represented as
+     * literals) implying p. The literal p is also allowed to be Lit.UNDEF, in which case the reason for the clause
+     * being conflicting is returned.
+     *
+     * Ternary clauses are propagated without reordering their literals, so p may be at any position in them.
+     */
+    public static void calcReason(SimpleSolver solver, int cref, int p, IntVec outReason) {
+        ClauseArena arena = solver.getClauseArena();
+        VariableStore vars = solver.getVariableStore();
+        // invariant: p == Lit.UNDEF or p == literals[0] (or any literal of a ternary clause)
+        if(! (p == Lit.UNDEF || p == arena.lit(cref, 0) || arena.isTernary(cref)))
             throw new UncheckedInvariantException("Invariant failure: p should either be undefined or the first " +
                     "literal in the clause. ");
-        
-        int startIndex = p.equals(Literal.UNDEFINED_LITERAL) ? 0 : 1;
-        for(int i = startIndex; i < literals.size(); ++i) {
+
+        int size = arena.size(cref);
+        for(int i = 0; i < size; ++i) {
+            int lit = arena.lit(cref, i);
+            if(lit == p)
+                continue;
             // invariant: solver.value(lits[i]) == FALSE
-            if(solver.value(literals.get(i)) != LBool.FALSE)
+            if(vars.value(lit) != LBool.L_FALSE)
                 throw new UncheckedInvariantException("Invariant failure: value assigned to literals[i] should be "
                         + "false.");
-            outReason.push(literals.get(i).negated());
-            if(isLearnt)
-                solver.bumpClauseActivity(this);
+            outReason.push(Lit.neg(lit));
         }
-    }
-
-    public double getActivity() {
-        return activity;
-    }
-
-    public void setActivity(double newActivity) {
-        this.activity = newActivity;
+        if(arena.isLearnt(cref))
+            solver.bumpClauseActivity(cref);
     }
 
     /**
-     * Based on implementation described in original MiniSat paper, but since we can't really do 
-     * the out parameter thing well, return a pair of a Boolean (indicating the original return 
-     * value) and a SimpleClause (the newly constructed clause).
-     *      
+     * Based on implementation described in original MiniSat paper, but since we can't really do
+     * the out parameter thing well, return the reference of the newly constructed clause instead:
+     * ClauseArena.CREF_UNDEF if the clause was added without being stored in the arena (or not added at all because
+     * it is already satisfied), and TOP_LEVEL_CONFLICT if it is empty or conflicts with the top-level assignment.
+     *
      * Additional notes:
      * Post-condition: ps is cleared
      * For learnt clauses, all literal will be false except lits[0] (due to design of analyze())
-     * For propagation to work, the second watch in a learnt clause should be put on the first literal to be unbound 
+     * For propagation to work, the second watch in a learnt clause should be put on the first literal to be unbound
      *      during backtracking (i.e., the one with the highest decision level).
      * For top-level/user-defined constraints, just pick the first two literals to watch
+     * Binary clauses are not allocated: they go straight into the solver's implication lists, and no clause reference
+     *      is returned for them.
+     * Ternary clauses are allocated, but watched on all three literals through the solver's ternary watch lists.
      */
-    public static Pair<Boolean, SimpleClause> clauseNew(SimpleSolver solver, Vec<Literal> ps, boolean learnt) {
+    public static int clauseNew(SimpleSolver solver, IntVec ps, boolean learnt) {
         // normalize clause
         if(!learnt) {
             if(clauseAlreadySatisfied(solver, ps)
                     || clauseHasNegAndPosLiteralOccurrence(ps))
-                return new Pair<Boolean, SimpleClause>(true, null);
+                return ClauseArena.CREF_UNDEF;
             removeAllFalseLiterals(solver, ps);
             removeDuplicateLiterals(ps);
         }
 
         // empty clause
         if(ps.size() == 0)
-            return new Pair<Boolean, SimpleClause>(false, null);
+            return TOP_LEVEL_CONFLICT;
         // unit clause
         else if(ps.size() == 1) {
-            return (solver.enqueue(ps.get(0)))
-                    ? new Pair<Boolean, SimpleClause>(true, null)
-                    : new Pair<Boolean, SimpleClause>(false, null);
+            int p = ps.get(0);
+            ps.clear();
+            return (solver.enqueue(p)) ? ClauseArena.CREF_UNDEF : TOP_LEVEL_CONFLICT;
+        }
+        else if(ps.size() == 2) {
+            if(learnt) {
+                solver.bumpVarActivity(ps.get(0));  // vars in a conflict clause are active
+                solver.bumpVarActivity(ps.get(1));
+            }
+            solver.addBinaryClause(ps.get(0), ps.get(1), learnt);
+            ps.clear();
+            return ClauseArena.CREF_UNDEF;
         }
         else {
-            Vec<Literal> copyPs = new SimpleVec<Literal>();
-            ps.moveTo(copyPs);
-            SimpleClause newClause = new SimpleClause(copyPs, learnt);
+            ClauseArena arena = solver.getClauseArena();
+            int cref = arena.alloc(ps, learnt);
+            ps.clear();
+            boolean ternary = arena.size(cref) == 3;
+            if(ternary)
+                arena.setTernary(cref);
 
-            if(learnt) {
+            if(learnt && !ternary) {
                 // pick a second literal to watch
-                int indexOfMaxDL = findLiteralWithMaxDecisionLevel(solver, copyPs); // use copyPs because ps is cleared
-                Literal tmp = copyPs.get(1);
-                copyPs.set(1, copyPs.get(indexOfMaxDL));
-                copyPs.set(indexOfMaxDL, tmp);
-
+                int indexOfMaxDL = findLiteralWithMaxDecisionLevel(solver, arena, cref);
+                int tmp = arena.lit(cref, 1);
+                arena.setLit(cref, 1, arena.lit(cref, indexOfMaxDL));
+                arena.setLit(cref, indexOfMaxDL, tmp);
+            }
+            if(learnt) {
                 // bump clause activity
-                solver.bumpClauseActivity(newClause);   // newly learnt clauses are active
-                for(int i=0; i<ps.size(); ++i)
-                    solver.bumpVarActivity(ps.get(i));  // vars in a conflict clause are active
+                solver.bumpClauseActivity(cref);   // newly learnt clauses are active
+                int size = arena.size(cref);
+                for(int i=0; i<size; ++i)
+                    solver.bumpVarActivity(arena.lit(cref, i));  // vars in a conflict clause are active
             }
-            
+
             // add clause to watcher lists
-            solver.getWatches(copyPs.get(0).negated().index()).push(newClause);
-            solver.getWatches(copyPs.get(1).negated().index()).push(newClause);
-            return new Pair<Boolean, SimpleClause>(true, newClause);
+            if(ternary)
+                solver.addTernaryWatches(cref);
+            else {
+                solver.addWatch(Lit.neg(arena.lit(cref, 0)), cref, arena.lit(cref, 1));
+                solver.addWatch(Lit.neg(arena.lit(cref, 1)), cref, arena.lit(cref, 0));
+            }
+            return cref;
         }
     }
 
     /**
      * Check whether the solver already has an assignment that satisfies this clause.
      */
-    private static boolean clauseAlreadySatisfied(SimpleSolver solver, Vec<Literal> ps) {
+    private static boolean clauseAlreadySatisfied(SimpleSolver solver, IntVec ps) {
         for(int i=0; i<ps.size(); ++i) {
-            Literal p = ps.get(i);
-            if(solver.value(p) == LBool.TRUE)
+            int p = ps.get(i);
+            if(solver.getVariableStore().value(p) == LBool.L_TRUE)
                 return true;
         }
         return false;
     }
 
     /**
-     * Check a vector of Literals for positive and negative occurrences of the same literal.
+     * Check a vector of literals for positive and negative occurrences of the same literal.
      */
-    private static boolean clauseHasNegAndPosLiteralOccurrence(Vec<Literal> ps) {
+    private static boolean clauseHasNegAndPosLiteralOccurrence(IntVec ps) {
         for(int i=0; i<ps.size(); ++i) {
-            Literal iLitNegated = ps.get(i).negated();
+            int iLitNegated = Lit.neg(ps.get(i));
             for(int j=i+1; j<ps.size(); ++j) {
-                Literal jLiteral = ps.get(j);
-                if(iLitNegated.equals(jLiteral))
+                int jLiteral = ps.get(j);
+                if(iLitNegated == jLiteral)
                     return true;
             }
         }
@@ -197,12 +287,12 @@ public class SimpleClause implements Constraint<SimpleSolver>, Comparable<Simple
     }
 
     /**
-     * Remove from the vector all Literals which are already assigned a value of false in the solver.
+     * Remove from the vector all literals which are already assigned a value of false in the solver.
      */
-    private static void removeAllFalseLiterals(SimpleSolver solver, Vec<Literal> ps) {
+    private static void removeAllFalseLiterals(SimpleSolver solver, IntVec ps) {
         for(int i=0; i<ps.size(); ++i) {
-            Literal p = ps.get(i);
-            if(solver.value(p) == LBool.FALSE) {
+            int p = ps.get(i);
+            if(solver.getVariableStore().value(p) == LBool.L_FALSE) {
                 ps.remove(p);
                 i -= 1;
             }
@@ -210,14 +300,14 @@ public class SimpleClause implements Constraint<SimpleSolver>, Comparable<Simple
     }
 
     /**
-     * Remove Literals that occur more than once (with the same sign) from the vector.
+     * Remove literals that occur more than once (with the same sign) from the vector.
      */
-    private static void removeDuplicateLiterals(Vec<Literal> ps) {
+    private static void removeDuplicateLiterals(IntVec ps) {
         for(int i=0; i<ps.size(); ++i) {
-            Literal iLiteral = ps.get(i);
+            int iLiteral = ps.get(i);
             for(int j=i+1; j<ps.size(); ++j) {
-                Literal jLiteral = ps.get(j);
-                if(iLiteral.equals(jLiteral)) {
+                int jLiteral = ps.get(j);
+                if(iLiteral == jLiteral) {
                     ps.remove(jLiteral);
                     j -= 1;
                 }
@@ -225,11 +315,12 @@ public class SimpleClause implements Constraint<SimpleSolver>, Comparable<Simple
         }
     }
 
-    private static int findLiteralWithMaxDecisionLevel(SimpleSolver solver, Vec<Literal> ps) {
+    private static int findLiteralWithMaxDecisionLevel(SimpleSolver solver, ClauseArena arena, int cref) {
         int indexOfMaxLevel = 0;
         int maxDecisionLevel = -1;
-        for(int i=0; i<ps.size(); ++i) {
-            int decisionLevel = solver.getLiteralDecisionLevel(ps.get(i));
+        int size = arena.size(cref);
+        for(int i=0; i<size; ++i) {
+            int decisionLevel = solver.getVariableStore().level(Lit.var(arena.lit(cref, i)));
             if(decisionLevel > maxDecisionLevel) {
                 maxDecisionLevel = decisionLevel;
                 indexOfMaxLevel = i;
@@ -237,12 +328,4 @@ public class SimpleClause implements Constraint<SimpleSolver>, Comparable<Simple
         }
         return indexOfMaxLevel;
     }
-
-    /**
-     * Sort clauses by activity, in descending order
-     */
-    @Override
-    public int compareTo(SimpleClause clause) {
-        return Double.compare(clause.activity, activity);
-    }
 }
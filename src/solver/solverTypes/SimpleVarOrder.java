@@ -1,20 +1,19 @@
 package solver.solverTypes;
 
 import collections.DoubleVec;
-import collections.Vec;
 import collections.IntVec;
 import solver.VariableOrder;
 
 public class SimpleVarOrder implements VariableOrder {
 
-    private Vec<LBool> assignments;
+    private VariableStore assignments;
     private DoubleVec activity;
     
     // list of unassigned variables in ascending order of activity
     private IntVec sortedUnassigned;
     private int lastVarID;
     
-    public SimpleVarOrder(Vec<LBool> assignments, DoubleVec activity) {
+    public SimpleVarOrder(VariableStore assignments, DoubleVec activity) {
         this.assignments = assignments;
         this.activity = activity;
         
@@ -39,6 +38,9 @@ public class SimpleVarOrder implements VariableOrder {
                         sortedUnassigned.set(j, var);
                         sortedUnassigned.set(j-1, jVar); 
                     }
+                    else
+                        // var is in sorted position; stop before the swap above overwrites a larger variable
+                        break;
                 }
                 // break early if we updated the variable
                 return;
@@ -51,7 +53,7 @@ public class SimpleVarOrder implements VariableOrder {
         // TODO: re-evaluate for assigned or not to clear out assignments that may have been inferred?
         // right now, go through all varIDs and call update for the ones that are unassigned
         for(int i=0; i<lastVarID; ++i) {
-            if(assignments.get(i) != LBool.UNDEFINED)
+            if(!LBool.isUndefined(assignments.varValue(i)))
                 update(i);
         }
     }
@@ -75,12 +77,19 @@ public class SimpleVarOrder implements VariableOrder {
     }
 
     @Override
-    public Literal selectLiteral() {
-        // TODO not sure how the polarity should be selected. For now, just always returning true.
-        // This shouldn't cause a problem because if there's a conflict, we should have a learned conflict clause with 
-        // the negation in it, but probably worth noting that there might be a situation where this could result in 
-        // divergence...
-        return new Literal(selectVariable(), false);
+    public int peekVariable() {
+        return sortedUnassigned.last();
+    }
+
+    @Override
+    public boolean prefers(int var, int other) {
+        return activity.get(var) > activity.get(other);
+    }
+
+    @Override
+    public int selectLiteral() {
+        // the polarity comes from the saved (or target) phase of the variable, which starts out positive
+        return assignments.decisionLiteral(selectVariable());
     }
 
     @Override
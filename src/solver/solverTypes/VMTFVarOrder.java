@@ -0,0 +1,160 @@
+package solver.solverTypes;
+
+import collections.DoubleVec;
+import collections.IntVec;
+import solver.VariableOrder;
+
+/**
+ * Variable-move-to-front order. All variables sit in one doubly linked queue; bumping a variable moves it to the front
+ * of the queue and gives it a fresh (larger) timestamp, so the queue is always ordered by timestamp. Decisions take
+ * the unassigned variable closest to the front.
+ *
+ * To avoid walking over assigned variables at the front on every decision, the queue caches a search pointer. Every
+ * variable in front of it is assigned. Unassigning a variable with a later timestamp than the search pointer moves the
+ * pointer to it. Bumps, decisions and backtracking are all (amortized) constant time, and only touch the queue links
+ * rather than activity scores.
+ *
+ * Variable activities are not used: the order of bumps is all that matters. The constructor still takes them so that
+ * {@code VMTFVarOrder::new} can be passed to the solver as a {@code VariableOrder.Factory}.
+ */
+public class VMTFVarOrder implements VariableOrder {
+
+    private static final int NONE = -1;
+
+    private VariableStore assignments;
+
+    // links of the queue, towards the front (next) and the back (prev); the front is the most recently bumped variable
+    private IntVec next;
+    private IntVec prev;
+    private IntVec stamp;
+    private int front;
+    private int back;
+    private int nextStamp;
+
+    // every variable in front of the search pointer is assigned
+    private int search;
+
+    public VMTFVarOrder(VariableStore assignments, DoubleVec activity) {
+        this.assignments = assignments;
+        this.next = new IntVec();
+        this.prev = new IntVec();
+        this.stamp = new IntVec();
+        this.front = NONE;
+        this.back = NONE;
+        this.nextStamp = 0;
+        this.search = NONE;
+    }
+
+    @Override
+    public void newVar() {
+        int var = next.size();
+        next.push(NONE);
+        prev.push(NONE);
+        stamp.push(0);
+        enqueueAtFront(var);
+        search = var;
+    }
+
+    /**
+     * Move the bumped variable to the front of the queue.
+     */
+    @Override
+    public void update(int var) {
+        if(var == front)
+            return;
+        dequeue(var);
+        enqueueAtFront(var);
+        if(LBool.isUndefined(assignments.varValue(var)))
+            search = var;
+    }
+
+    /**
+     * Activities don't matter to this order, but the search pointer is reset to the front, just in case.
+     */
+    @Override
+    public void updateAll() {
+        search = front;
+    }
+
+    @Override
+    public void undo(int var) {
+        if(search == NONE || stamp.get(var) > stamp.get(search))
+            search = var;
+    }
+
+    @Override
+    public int selectVariable() {
+        int var = search;
+        while(!LBool.isUndefined(assignments.varValue(var)))
+            var = prev.get(var);
+        search = var;
+        return var;
+    }
+
+    /**
+     * Same as selectVariable(), which only moves the search pointer.
+     */
+    @Override
+    public int peekVariable() {
+        return selectVariable();
+    }
+
+    /**
+     * The variable bumped more recently is ahead.
+     */
+    @Override
+    public boolean prefers(int var, int other) {
+        return stamp.get(var) > stamp.get(other);
+    }
+
+    @Override
+    public int selectLiteral() {
+        return assignments.decisionLiteral(selectVariable());
+    }
+
+    @Override
+    public void setAssigned(int var) {
+        // assigned variables are skipped by moving the search pointer in selectVariable()
+    }
+
+    private void dequeue(int var) {
+        int p = prev.get(var);
+        int n = next.get(var);
+        if(p != NONE)
+            next.set(p, n);
+        else
+            back = n;
+        if(n != NONE)
+            prev.set(n, p);
+        else
+            front = p;
+        // the search pointer must stay in the queue; the variable behind it still has every assigned variable in front
+        if(search == var)
+            search = (n != NONE) ? n : p;
+    }
+
+    private void enqueueAtFront(int var) {
+        prev.set(var, front);
+        next.set(var, NONE);
+        if(front != NONE)
+            next.set(front, var);
+        else
+            back = var;
+        front = var;
+        if(nextStamp == Integer.MAX_VALUE)
+            renumber();
+        nextStamp += 1;
+        stamp.set(var, nextStamp);
+    }
+
+    /**
+     * Reassign the timestamps from the back of the queue, once they are about to overflow.
+     */
+    private void renumber() {
+        nextStamp = 0;
+        for(int var = back; var != NONE; var = next.get(var)) {
+            nextStamp += 1;
+            stamp.set(var, nextStamp);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package solver.solverTypes;
+
+import java.util.Arrays;
+
+import exception.IllegalArgumentException;
+
+/**
+ * Per-variable solver state, stored as parallel primitive arrays indexed by variable ID:
+ *      assigns:  current value of the variable, byte-encoded (see {@link LBool#L_TRUE} and friends)
+ *      level:    decision level the variable belongs to (-1 if unassigned); with chronological backtracking, this is 
+ *                the highest level in its reason, which may be below the decision level it was assigned at
+ *      reason:   what implied the variable: a clause reference, an inline binary reason (see binaryReason()), or
+ *                ClauseArena.CREF_UNDEF for decisions and unit facts
+ *      phase:    saved phase, i.e., the sign bit of the literal to pick when the variable is next decided (initially
+ *                0, the positive literal)
+ *      target:   sign bit of the variable on the longest conflict-free trail since the last restart (PHASE_UNSET if it
+ *                wasn't on it); used for decisions instead of the saved phase when target phases are enabled
+ *      best:     sign bit of the variable on the longest conflict-free trail since the last rephase (or PHASE_UNSET)
+ *
+ * The value of a literal is the value of its variable XOR its sign bit, so checking a literal is a single array 
+ * load. An unassigned variable yields L_UNDEF for its positive literal and L_UNDEF ^ 1 for its negative literal; use 
+ * {@link LBool#isUndefined(byte)} rather than comparing against L_UNDEF.
+ */
+public class VariableStore {
+
+    // Binary clauses are not stored in the clause arena, so a literal implied by a binary clause (p | q) stores the
+    // other literal q inline in its reason, encoded as a negative number that can't clash with a clause reference.
+    private static final int BINARY_REASON_OFFSET = -2;
+
+    private static final byte PHASE_UNSET = 2;
+
+    private byte[] assigns;
+    private int[] level;
+    private int[] reason;
+    private byte[] phase;
+    private byte[] target;
+    private byte[] best;
+    private boolean useTargetPhases;
+    private int numVars;
+
+    /**
+     * Return the reason for a literal implied by a binary clause whose other (false) literal is {@code otherLit}.
+     */
+    public static int binaryReason(int otherLit) {
+        return BINARY_REASON_OFFSET - otherLit;
+    }
+
+    public static boolean isBinaryReason(int reason) {
+        return reason <= BINARY_REASON_OFFSET;
+    }
+
+    /**
+     * Return the other (false) literal of the binary clause stored in a binary reason.
+     */
+    public static int binaryReasonLiteral(int reason) {
+        return BINARY_REASON_OFFSET - reason;
+    }
+
+    public VariableStore() {
+        assigns = new byte[0];
+        level = new int[0];
+        reason = new int[0];
+        phase = new byte[0];
+        target = new byte[0];
+        best = new byte[0];
+        useTargetPhases = false;
+        numVars = 0;
+    }
+
+    /**
+     * Increase the number of variables to {@code newNumVars}. New variables are unassigned.
+     */
+    public void growTo(int newNumVars) {
+        if(newNumVars < numVars)
+            throw new IllegalArgumentException("Variable store already contains more than " + newNumVars + 
+                    " variables.");
+        if(newNumVars > assigns.length) {
+            int capacity = Math.max(newNumVars, assigns.length + (assigns.length >> 1));
+            assigns = Arrays.copyOf(assigns, capacity);
+            level = Arrays.copyOf(level, capacity);
+            reason = Arrays.copyOf(reason, capacity);
+            phase = Arrays.copyOf(phase, capacity);
+            target = Arrays.copyOf(target, capacity);
+            best = Arrays.copyOf(best, capacity);
+        }
+        Arrays.fill(assigns, numVars, newNumVars, LBool.L_UNDEF);
+        Arrays.fill(level, numVars, newNumVars, -1);
+        Arrays.fill(reason, numVars, newNumVars, ClauseArena.CREF_UNDEF);
+        Arrays.fill(phase, numVars, newNumVars, (byte)0);
+        Arrays.fill(target, numVars, newNumVars, PHASE_UNSET);
+        Arrays.fill(best, numVars, newNumVars, PHASE_UNSET);
+        numVars = newNumVars;
+    }
+
+    public int numVars() {
+        return numVars;
+    }
+
+    /**
+     * Return the byte-encoded value of the int literal {@code p}.
+     */
+    public byte value(int p) {
+        return (byte)(assigns[p >> 1] ^ (p & 1));
+    }
+
+    /**
+     * Return the byte-encoded value of variable {@code var}.
+     */
+    public byte varValue(int var) {
+        return assigns[var];
+    }
+
+    public int level(int var) {
+        return level[var];
+    }
+
+    public int reason(int var) {
+        return reason[var];
+    }
+
+    public void setReason(int var, int cref) {
+        reason[var] = cref;
+    }
+
+    /**
+     * Make the int literal {@code p} true.
+     */
+    public void assign(int p, int decisionLevel, int from) {
+        int var = p >> 1;
+        assigns[var] = (byte)(p & 1);
+        level[var] = decisionLevel;
+        reason[var] = from;
+    }
+
+    public void unassign(int var) {
+        assigns[var] = LBool.L_UNDEF;
+        level[var] = -1;
+        reason[var] = ClauseArena.CREF_UNDEF;
+    }
+
+    /**
+     * Return the literal of {@code var} to assign when the variable is decided: its target phase if target phases are
+     * enabled and the variable has one, its saved phase otherwise.
+     */
+    public int decisionLiteral(int var) {
+        if(useTargetPhases && target[var] != PHASE_UNSET)
+            return (var << 1) | target[var];
+        return (var << 1) | phase[var];
+    }
+
+    public void setUseTargetPhases(boolean useTargetPhases) {
+        this.useTargetPhases = useTargetPhases;
+    }
+
+    /**
+     * Save the phase of the int literal {@code p}, i.e., decide its variable the same way next time.
+     */
+    public void savePhase(int p) {
+        phase[p >> 1] = (byte)(p & 1);
+    }
+
+    public void setPhase(int var, boolean negated) {
+        phase[var] = (byte)(negated ? 1 : 0);
+    }
+
+    /**
+     * Record the int literal {@code p} as the target phase (and, if {@code isBest}, the best phase) of its variable.
+     */
+    public void setTargetPhase(int p, boolean isBest) {
+        target[p >> 1] = (byte)(p & 1);
+        if(isBest)
+            best[p >> 1] = (byte)(p & 1);
+    }
+
+    public void clearTargetPhases() {
+        Arrays.fill(target, 0, numVars, PHASE_UNSET);
+    }
+
+    /**
+     * Overwrite the saved phases with the best phases (where there is one) and forget the best phases.
+     */
+    public void restoreBestPhases() {
+        for(int var=0; var<numVars; ++var) {
+            if(best[var] != PHASE_UNSET)
+                phase[var] = best[var];
+        }
+        Arrays.fill(best, 0, numVars, PHASE_UNSET);
+    }
+}
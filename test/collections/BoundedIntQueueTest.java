@@ -0,0 +1,50 @@
+package collections;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class BoundedIntQueueTest {
+
+    /**
+     * Push fewer elements than the capacity.
+     * Check that the queue is not full and the average covers all of them.
+     */
+    @Test
+    public void testAverageOfPartiallyFilledQueue() {
+        BoundedIntQueue queue = new BoundedIntQueue(4);
+        queue.push(2);
+        queue.push(4);
+        assertEquals(2, queue.size());
+        assertFalse(queue.isFull());
+        assertEquals(3.0, queue.average(), 0.0);
+    }
+
+    /**
+     * Push more elements than the capacity.
+     * Check that the oldest elements are evicted and the average only covers the last ones.
+     */
+    @Test
+    public void testPushOnFullQueueEvictsOldest() {
+        BoundedIntQueue queue = new BoundedIntQueue(3);
+        for(int i=1; i<=5; ++i)
+            queue.push(i);
+        assertTrue(queue.isFull());
+        assertEquals(3, queue.size());
+        assertEquals(4.0, queue.average(), 0.0);
+    }
+
+    /**
+     * Fill the queue, then clear it.
+     * Check that it is empty and its average is 0.
+     */
+    @Test
+    public void testClearEmptiesTheQueue() {
+        BoundedIntQueue queue = new BoundedIntQueue(2);
+        queue.push(7);
+        queue.push(9);
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertEquals(0.0, queue.average(), 0.0);
+    }
+}
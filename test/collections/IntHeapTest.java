@@ -0,0 +1,93 @@
+package collections;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import collections.exception.UnderflowException;
+
+public class IntHeapTest {
+
+    /**
+     * Insert elements keyed on their own value (largest on top) and remove them all.
+     * Check that they come out in descending order.
+     */
+    @Test
+    public void testRemoveTopReturnsElementsInOrder() {
+        IntHeap heap = new IntHeap((int a, int b) -> Integer.compare(b, a));
+        int[] elements = { 4, 9, 0, 7, 2, 5 };
+        for(int e : elements)
+            heap.insert(e);
+        assertEquals(elements.length, heap.size());
+
+        int[] expected = { 9, 7, 5, 4, 2, 0 };
+        for(int e : expected)
+            assertEquals(e, heap.removeTop());
+        assertTrue(heap.isEmpty());
+    }
+
+    /**
+     * Insert the same element twice.
+     * Check that it is only stored once and that contains() tracks insertion and removal.
+     */
+    @Test
+    public void testInsertIsIdempotentAndContainsTracksMembership() {
+        IntHeap heap = new IntHeap((int a, int b) -> Integer.compare(a, b));
+        heap.insert(3);
+        heap.insert(3);
+        assertEquals(1, heap.size());
+        assertTrue(heap.contains(3));
+        assertFalse(heap.contains(2));
+        heap.removeTop();
+        assertFalse(heap.contains(3));
+    }
+
+    /**
+     * Key elements on an external array, then increase the key of the element at the bottom.
+     * Check that increase() moves it to the top.
+     */
+    @Test
+    public void testIncreaseMovesElementUp() {
+        double[] keys = { 1.0, 2.0, 3.0, 4.0 };
+        IntHeap heap = new IntHeap((int a, int b) -> Double.compare(keys[b], keys[a]));
+        for(int i=0; i<keys.length; ++i)
+            heap.insert(i);
+        assertEquals(3, heap.top());
+
+        keys[0] = 10.0;
+        heap.increase(0);
+        assertEquals(0, heap.removeTop());
+        assertEquals(3, heap.removeTop());
+    }
+
+    /**
+     * Rebuild a heap from a vector of elements.
+     * Check that the top is the best element and duplicates are ignored.
+     */
+    @Test
+    public void testRebuildHeapifiesElements() {
+        IntHeap heap = new IntHeap((int a, int b) -> Integer.compare(b, a));
+        heap.insert(1);
+        IntVec elements = new IntVec();
+        elements.push(6);
+        elements.push(2);
+        elements.push(8);
+        elements.push(2);
+        heap.rebuild(elements);
+        assertEquals(3, heap.size());
+        assertFalse(heap.contains(1));
+        assertEquals(8, heap.removeTop());
+        assertEquals(6, heap.removeTop());
+        assertEquals(2, heap.removeTop());
+    }
+
+    /**
+     * Remove from an empty heap.
+     * Check that an UnderflowException is thrown.
+     */
+    @Test(expected = UnderflowException.class)
+    public void testRemoveTopFromEmptyHeapThrows() {
+        IntHeap heap = new IntHeap((int a, int b) -> Integer.compare(a, b));
+        heap.removeTop();
+    }
+}
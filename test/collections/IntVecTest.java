@@ -110,4 +110,25 @@ public class IntVecTest {
         assertEquals(5, vec.get(0));
         assertEquals(5, vec.last());
     }
+    
+    /**
+     * Select the n-th smallest element of a vector, for every n.
+     * Check that it ends up at index n, with no greater element before it and no smaller element after it.
+     */
+    @Test
+    public void testNthElementPartitionsAroundNthElement() {
+        int[] elements = { 5, 1, 9, 3, 7, 3, 0, 8, 3, 6 };
+        int[] sorted = { 0, 1, 3, 3, 3, 5, 6, 7, 8, 9 };
+        for(int n=0; n<elements.length; ++n) {
+            IntVec vec = new IntVec();
+            for(int e : elements)
+                vec.push(e);
+            vec.nthElement(n, (int a, int b) -> Integer.compare(a, b));
+            assertEquals(sorted[n], vec.get(n));
+            for(int i=0; i<n; ++i)
+                assertTrue(vec.get(i) <= vec.get(n));
+            for(int i=n+1; i<vec.size(); ++i)
+                assertTrue(vec.get(i) >= vec.get(n));
+        }
+    }
 }
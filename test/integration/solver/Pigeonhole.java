@@ -0,0 +1,41 @@
+package integration.solver;
+
+/**
+ * Pigeonhole problems shared by the solver integration tests: {@code pigeons} pigeons each sit in one of 
+ * {@code holes} holes, and no two pigeons share a hole. They are satisfiable iff there are no more pigeons than 
+ * holes, and the unsatisfiable ones are hard enough for a handful of pigeons to make the solver learn, restart, etc.
+ */
+public class Pigeonhole {
+
+    /**
+     * Return the DIMACS variable (numbered from 1) meaning that pigeon p sits in hole h.
+     */
+    public static int variable(int p, int h, int holes) {
+        return p * holes + h + 1;
+    }
+
+    /**
+     * Return the clauses, as DIMACS literals, saying that each pigeon sits in a hole (first, one clause per pigeon), 
+     * and that no two pigeons share a hole.
+     */
+    public static int[][] clauses(int pigeons, int holes) {
+        int numClauses = pigeons + holes * pigeons * (pigeons - 1) / 2;
+        int[][] clauses = new int[numClauses][];
+        int c = 0;
+        for(int p=0; p<pigeons; ++p) {
+            clauses[c] = new int[holes];
+            for(int h=0; h<holes; ++h)
+                clauses[c][h] = variable(p, h, holes);
+            c += 1;
+        }
+        for(int h=0; h<holes; ++h) {
+            for(int p=0; p<pigeons; ++p) {
+                for(int q=p+1; q<pigeons; ++q) {
+                    clauses[c] = new int[] { -variable(p, h, holes), -variable(q, h, holes) };
+                    c += 1;
+                }
+            }
+        }
+        return clauses;
+    }
+}
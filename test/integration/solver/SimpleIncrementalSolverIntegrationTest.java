@@ -0,0 +1,128 @@
+package integration.solver;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import solver.IncrementalSolver;
+import solver.SimpleIncrementalSolver;
+
+public class SimpleIncrementalSolverIntegrationTest {
+
+    /**
+     * Add the clauses of 4 pigeons in 4 holes and solve.
+     * Check that the model returned by val() satisfies every clause.
+     */
+    @Test
+    public void testSatisfiableModel() {
+        SimpleIncrementalSolver solver = new SimpleIncrementalSolver();
+        int[][] clauses = Pigeonhole.clauses(4, 4);
+        addClauses(solver, clauses);
+        assertEquals(IncrementalSolver.SATISFIABLE, solver.solve());
+        for(int[] clause : clauses) {
+            boolean satisfied = false;
+            for(int lit : clause) {
+                int value = solver.val(lit);
+                assertTrue(value == lit || value == -lit);
+                if(value == lit)
+                    satisfied = true;
+            }
+            assertTrue(satisfied);
+        }
+    }
+
+    /**
+     * Assume that pigeon 3 sits in hole 3 and pigeons 1 and 2 both sit in hole 1, then solve again without
+     * assumptions. Check that only the clashing assumptions failed, and that the assumptions were cleared.
+     */
+    @Test
+    public void testFailedAssumptionsAreClearedAfterSolve() {
+        SimpleIncrementalSolver solver = new SimpleIncrementalSolver();
+        addClauses(solver, Pigeonhole.clauses(4, 4));
+        solver.assume(Pigeonhole.variable(2, 2, 4));
+        solver.assume(Pigeonhole.variable(0, 0, 4));
+        solver.assume(Pigeonhole.variable(1, 0, 4));
+        assertEquals(IncrementalSolver.UNSATISFIABLE, solver.solve());
+        assertFalse(solver.failed(Pigeonhole.variable(2, 2, 4)));
+        assertTrue(solver.failed(Pigeonhole.variable(0, 0, 4)));
+        assertTrue(solver.failed(Pigeonhole.variable(1, 0, 4)));
+
+        assertEquals(IncrementalSolver.SATISFIABLE, solver.solve());
+    }
+
+    /**
+     * Add clauses one at a time to a satisfiable problem until it becomes unsatisfiable (5 pigeons in 4 holes).
+     * Check each result.
+     */
+    @Test
+    public void testAddingClausesBetweenSolveCalls() {
+        SimpleIncrementalSolver solver = new SimpleIncrementalSolver();
+        int[][] clauses = Pigeonhole.clauses(5, 4);
+        // the "each pigeon sits in a hole" clauses come first: leave out the one of pigeon 4 until the end
+        for(int i=0; i<clauses.length; ++i) {
+            if(i != 4)
+                addClause(solver, clauses[i]);
+        }
+        assertEquals(IncrementalSolver.SATISFIABLE, solver.solve());
+        addClause(solver, clauses[4]);
+        assertEquals(IncrementalSolver.UNSATISFIABLE, solver.solve());
+        assertTrue(solver.getSolver().isUnsatisfiable());
+    }
+
+    /**
+     * Add a clause, then unit clauses that make it false, without solving in between, then solve. Then solve again 
+     * under an assumption. Check that both calls find the problem unsatisfiable.
+     */
+    @Test
+    public void testUnitClausesBeforeMoreClauses() {
+        SimpleIncrementalSolver solver = new SimpleIncrementalSolver();
+        addClauses(solver, new int[][] { { -1, -2, 3, 4 }, { 1 }, { 2 }, { -3 }, { -4 } });
+        assertEquals(IncrementalSolver.UNSATISFIABLE, solver.solve());
+        solver.assume(1);
+        assertEquals(IncrementalSolver.UNSATISFIABLE, solver.solve());
+        assertFalse(solver.failed(1));
+    }
+
+    /**
+     * Solve 7 pigeons in 6 holes with a terminate callback that stops at the first conflict, then without it.
+     * Check that the first call returns UNKNOWN and the second finishes.
+     */
+    @Test
+    public void testTerminate() {
+        SimpleIncrementalSolver solver = new SimpleIncrementalSolver();
+        addClauses(solver, Pigeonhole.clauses(7, 6));
+        solver.setTerminate(() -> true);
+        assertEquals(IncrementalSolver.UNKNOWN, solver.solve());
+        solver.setTerminate(null);
+        assertEquals(IncrementalSolver.UNSATISFIABLE, solver.solve());
+    }
+
+    /**
+     * Solve 6 pigeons in 5 holes with a learn callback for clauses of at most 3 literals.
+     * Check that it is given learnt clauses, none longer than 3 literals, over the variables of the problem.
+     */
+    @Test
+    public void testLearn() {
+        SimpleIncrementalSolver solver = new SimpleIncrementalSolver();
+        addClauses(solver, Pigeonhole.clauses(6, 5));
+        int[] learnt = new int[1];
+        solver.setLearn(3, clause -> {
+            assertTrue(clause.size() <= 3);
+            for(int i=0; i<clause.size(); ++i)
+                assertTrue(clause.get(i) != 0 && Math.abs(clause.get(i)) <= 30);
+            learnt[0] += 1;
+        });
+        assertEquals(IncrementalSolver.UNSATISFIABLE, solver.solve());
+        assertTrue(learnt[0] > 0);
+    }
+
+    private static void addClauses(IncrementalSolver solver, int[][] clauses) {
+        for(int[] clause : clauses)
+            addClause(solver, clause);
+    }
+
+    private static void addClause(IncrementalSolver solver, int[] clause) {
+        for(int lit : clause)
+            solver.add(lit);
+        solver.add(0);
+    }
+}
@@ -1,12 +1,32 @@
 package integration.solver;
 
+import java.util.Random;
+
 import org.junit.Test;
 import static org.junit.Assert.*;
 
 import collections.BoolVec;
+import collections.DoubleVec;
+import collections.IntVec;
 import collections.SimpleVec;
+import collections.Vec;
+import solver.RestartPolicy;
 import solver.SimpleSolver;
+import solver.VariableOrder;
+import solver.solverTypes.CHBVarOrder;
+import solver.solverTypes.ClauseArena;
+import solver.solverTypes.GeometricRestarts;
+import solver.solverTypes.GlucoseRestarts;
+import solver.solverTypes.HeapVarOrder;
+import solver.solverTypes.LBool;
+import solver.solverTypes.LRBVarOrder;
+import solver.solverTypes.Lit;
 import solver.solverTypes.Literal;
+import solver.solverTypes.LubyRestarts;
+import solver.solverTypes.SearchParameters;
+import solver.solverTypes.SimpleVarOrder;
+import solver.solverTypes.VMTFVarOrder;
+import solver.solverTypes.VariableStore;
 
 public class SimpleSolverIntegrationTest {
 
@@ -151,6 +171,566 @@ public class SimpleSolverIntegrationTest {
         assertFalse(testSolver.solve());
     }
     
+    /**
+     * Solve 6 pigeons in 5 holes with a learn callback, which is called after the analysis of each conflict and 
+     * before backjumping. Check that every literal of each learnt clause is still false, since the analysis leaves 
+     * the trail alone, and that the asserting literal (first) is the only one at the highest level of the clause.
+     */
+    @Test
+    public void testAnalysisLeavesTrailAssigned() {
+        SimpleSolver solver = new SimpleSolver();
+        addPigeonholeClauses(solver, 6, 5);
+        VariableStore vars = solver.getVariableStore();
+        int[] learnt = new int[1];
+        solver.setLearn(Integer.MAX_VALUE, (IntVec clause) -> {
+            int assertingLevel = vars.level(Lit.var(clause.get(0)));
+            for(int i=0; i<clause.size(); ++i) {
+                assertEquals(LBool.L_FALSE, vars.value(clause.get(i)));
+                if(i > 0)
+                    assertTrue(vars.level(Lit.var(clause.get(i))) < assertingLevel);
+            }
+            learnt[0] += 1;
+        });
+        assertFalse(solver.solve());
+        // every conflict but the last one, at the top level, is analyzed
+        assertEquals(solver.getConflicts() - 1, learnt[0]);
+    }
+
+    /**
+     * Solve 6 pigeons in 5 holes, with a learn callback noting the asserting variable of each learnt clause and the 
+     * second highest level of the clause, and a variable order noting the level the asserting variable is assigned 
+     * at next. Check that each asserting literal is assigned at that level, and that some backjumps skip levels.
+     */
+    @Test
+    public void testBackjumpsToAssertingLevel() {
+        // asserting variable, its expected level, and the number of checked and of non-chronological backjumps
+        int[] expected = { -1, 0, 0, 0 };
+        SimpleSolver solver = new SimpleSolver((VariableStore assignments, DoubleVec activity) -> 
+            new HeapVarOrder(assignments, activity) {
+                @Override
+                public void setAssigned(int var) {
+                    super.setAssigned(var);
+                    if(var == expected[0]) {
+                        assertEquals(expected[1], assignments.level(var));
+                        expected[0] = -1;
+                        expected[2] += 1;
+                    }
+                }
+            });
+        addPigeonholeClauses(solver, 6, 5);
+        VariableStore vars = solver.getVariableStore();
+        solver.setLearn(Integer.MAX_VALUE, (IntVec clause) -> {
+            int backjumpLevel = 0;
+            for(int i=1; i<clause.size(); ++i)
+                backjumpLevel = Math.max(backjumpLevel, vars.level(Lit.var(clause.get(i))));
+            expected[0] = Lit.var(clause.get(0));
+            expected[1] = backjumpLevel;
+            if(vars.level(expected[0]) - backjumpLevel > 1)
+                expected[3] += 1;
+        });
+        assertFalse(solver.solve());
+        assertEquals(solver.getConflicts() - 1, expected[2]);
+        assertTrue(expected[3] > 0);
+    }
+
+    /**
+     * Pigeonhole problems: n pigeons in n holes (SAT) and n+1 pigeons in n holes (UNSAT).
+     * Solve them without phase saving, with phase saving, and with target phases and frequent rephasing.
+     * Check that every configuration gets the right answer (and a valid model), and that rephasing happens.
+     */
+    @Test
+    public void testPhaseSelectionPreservesAnswers() {
+        SearchParameters[] configurations = {
+                new SearchParameters(0.95, 0.999, false, false, 0),
+                new SearchParameters(0.95, 0.999, true, false, 0),
+                new SearchParameters(0.95, 0.999, true, true, 1)
+        };
+        for(SearchParameters params : configurations) {
+            SimpleSolver satSolver = new SimpleSolver();
+            satSolver.setSearchParameters(params);
+            SimpleSolver unsatSolver = new SimpleSolver();
+            unsatSolver.setSearchParameters(params);
+            assertPigeonholeAnswers(satSolver, unsatSolver);
+            if(params.getRephaseInterval() > 0)
+                assertTrue(unsatSolver.getRephases() > 0);
+        }
+    }
+
+    /**
+     * Pigeonhole problems, as above, solved with each restart policy (with small limits, so that restarts happen).
+     * Check that every policy gets the right answer, and that the Luby policy does restart.
+     */
+    @Test
+    public void testRestartPoliciesPreserveAnswers() {
+        RestartPolicy[] policies = {
+                new GeometricRestarts(2, 1.5),
+                new LubyRestarts(2),
+                new GlucoseRestarts(5, 20, 0.8, 1.4, 10)
+        };
+        for(RestartPolicy policy : policies) {
+            SimpleSolver satSolver = new SimpleSolver();
+            satSolver.setRestartPolicy(policy);
+            SimpleSolver unsatSolver = new SimpleSolver();
+            unsatSolver.setRestartPolicy(policy);
+            assertPigeonholeAnswers(satSolver, unsatSolver);
+            if(policy instanceof LubyRestarts)
+                assertTrue(unsatSolver.getRestarts() > 0);
+        }
+    }
+
+    /**
+     * Pigeonhole problems, as above, solved with each variable order.
+     * Check that every order gets the right answer.
+     */
+    @Test
+    public void testVariableOrdersPreserveAnswers() {
+        VariableOrder.Factory[] orders = {
+                SimpleVarOrder::new, HeapVarOrder::new, VMTFVarOrder::new, CHBVarOrder::new, LRBVarOrder::new
+        };
+        for(VariableOrder.Factory order : orders)
+            assertPigeonholeAnswers(new SimpleSolver(order), new SimpleSolver(order));
+    }
+
+    /**
+     * Pigeonhole problems, as above, solved with chronological backtracking after every jump of more than one level.
+     * Check that the answers don't change, and that the unsatisfiable problem does backtrack chronologically.
+     */
+    @Test
+    public void testChronologicalBacktrackingPreservesAnswers() {
+        SearchParameters params = new SearchParameters(0.95, 0.999, true, false, 0, 1);
+        SimpleSolver satSolver = new SimpleSolver();
+        satSolver.setSearchParameters(params);
+        SimpleVec<SimpleVec<Literal>> satClauses = addPigeonholeClauses(satSolver, 4, 4);
+        assertTrue(satSolver.solve());
+        assertTrue(satisfiesClauses(satSolver.getModel(), satClauses));
+
+        SimpleSolver unsatSolver = new SimpleSolver();
+        unsatSolver.setSearchParameters(params);
+        addPigeonholeClauses(unsatSolver, 6, 5);
+        assertFalse(unsatSolver.solve());
+        assertTrue(unsatSolver.getChronoBacktracks() > 0);
+    }
+
+    /**
+     * 7 pigeons in 6 holes, which needs backjumps over several levels, solved with frequent restarts and a variable 
+     * order (VMTF) that checks the reason of every literal as it is assigned. On this problem, some saved reasons 
+     * change (e.g., are strengthened by conflict analysis) before they could be replayed.
+     * Check that literals undone by backjumps are replayed from the saved trail, and that every reason (a replayed 
+     * literal's included) still implies its literal: it isn't deleted, contains the literal, and its other literals 
+     * are false. Also check that the replay counters agree: a literal replayed from a long clause had that clause read.
+     */
+    @Test
+    public void testTrailSavingReplaysLiterals() {
+        SimpleSolver[] solvers = new SimpleSolver[1];
+        SimpleSolver solver = new SimpleSolver((VariableStore assignments, DoubleVec activity) -> 
+            new VMTFVarOrder(assignments, activity) {
+                @Override
+                public void setAssigned(int var) {
+                    super.setAssigned(var);
+                    assertReasonImplies(solvers[0], var);
+                }
+            });
+        solvers[0] = solver;
+        addPigeonholeClauses(solver, 7, 6);
+        assertFalse(solver.solve(new SimpleVec<Literal>(), new LubyRestarts(2)));
+        assertTrue(solver.getTrailReplays() > 0);
+        assertTrue(solver.getReplaySavedVisits() <= solver.getTrailReplays());
+        assertTrue(solver.getReplaySavedVisits() <= solver.getReplayClauseVisits());
+    }
+
+    /**
+     * A pigeonhole problem, as above, solved with a restart after every couple of conflicts, with each variable order.
+     * Check that the answer doesn't change, and that restarts keep some of the trail.
+     */
+    @Test
+    public void testRestartsReuseTrail() {
+        VariableOrder.Factory[] orders = {
+                SimpleVarOrder::new, HeapVarOrder::new, VMTFVarOrder::new, CHBVarOrder::new, LRBVarOrder::new
+        };
+        for(VariableOrder.Factory order : orders) {
+            SimpleSolver solver = new SimpleSolver(order);
+            addPigeonholeClauses(solver, 6, 5);
+            assertFalse(solver.solve(new SimpleVec<Literal>(), new LubyRestarts(2)));
+            assertTrue(solver.getRestarts() > 0);
+            assertTrue(solver.getReusedLevels() > 0);
+        }
+    }
+
+    /**
+     * A pigeonhole problem, as above, simplified twice before solving.
+     * Check that the second simplification is skipped, since nothing was assigned in between, and that the problem 
+     * is still solved correctly.
+     */
+    @Test
+    public void testSimplifyDBSkipsWhenNothingChanged() {
+        SimpleSolver solver = new SimpleSolver();
+        SimpleVec<SimpleVec<Literal>> clauses = addPigeonholeClauses(solver, 4, 4);
+        assertTrue(solver.simplifyDB());
+        assertEquals(1, solver.getSimplifications());
+        assertTrue(solver.simplifyDB());
+        assertEquals(1, solver.getSimplifications());
+        assertTrue(solver.solve());
+        assertTrue(satisfiesClauses(solver.getModel(), clauses));
+    }
+
+    /**
+     * Four pigeons in four holes, solved repeatedly by one solver under assumptions (pigeon p in hole h) that share 
+     * prefixes with the previous call, with a clause added in between.
+     * Check that each answer matches a fresh solver's, and that models satisfy the clauses and the assumptions.
+     */
+    @Test
+    public void testAssumptionPrefixesAcrossSolveCalls() {
+        int[][][] calls = {
+                { { 0, 0 } },
+                { { 0, 0 }, { 1, 1 } },
+                { { 0, 0 }, { 1, 1 }, { 2, 0 } },
+                { { 0, 0 }, { 1, 1 }, { 2, 2 } },
+                { { 0, 0 }, { 1, 0 } },
+                { { 1, 1 } },
+                { },
+                { { 0, 0 }, { 1, 1 }, { 2, 2 } },
+                { { 0, 0 }, { 1, 1 }, { 2, 2 } }
+        };
+        SimpleSolver solver = new SimpleSolver();
+        SimpleVec<SimpleVec<Literal>> clauses = addPigeonholeClauses(solver, 4, 4);
+        for(int i=0; i<calls.length; ++i) {
+            if(i == calls.length - 1) {
+                // pigeon 3 can't sit in hole 3, so it has no hole left under the assumptions
+                SimpleVec<Literal> clause = new SimpleVec<Literal>();
+                addLiteral(clause, 3 * 4 + 3, false);
+                solver.addClause(clause);
+                clauses.push(clause);
+            }
+            SimpleVec<Literal> assumptions = new SimpleVec<Literal>();
+            for(int[] pigeonHole : calls[i])
+                addLiteral(assumptions, pigeonHole[0] * 4 + pigeonHole[1], true);
+
+            SimpleSolver fresh = new SimpleSolver();
+            initVariables(fresh, 16);
+            for(int j=0; j<clauses.size(); ++j)
+                fresh.addClause(clauses.get(j));
+            boolean expected = fresh.solve(assumptions);
+
+            assertEquals(expected, solver.solve(assumptions));
+            if(expected) {
+                assertTrue(satisfiesClauses(solver.getModel(), clauses));
+                for(int j=0; j<assumptions.size(); ++j)
+                    assertTrue(solver.getModel().get(assumptions.get(j).var()));
+            }
+        }
+    }
+
+    /**
+     * Assume that pigeon 2 sits in hole 2 and that pigeons 0 and 1 both sit in hole 0, then that pigeon 3 sits in 
+     * hole 3 with an extra clause keeping it out of hole 3. Check that the failed assumptions are exactly the ones 
+     * that clash, that they are unsatisfiable on their own, and that the problem isn't unsatisfiable regardless.
+     */
+    @Test
+    public void testFailedAssumptions() {
+        SimpleSolver solver = new SimpleSolver();
+        SimpleVec<SimpleVec<Literal>> clauses = addPigeonholeClauses(solver, 4, 4);
+        SimpleVec<Literal> assumptions = new SimpleVec<Literal>();
+        addLiteral(assumptions, 2 * 4 + 2, true);
+        addLiteral(assumptions, 0 * 4 + 0, true);
+        addLiteral(assumptions, 1 * 4 + 0, true);
+        assertFalse(solver.solve(assumptions));
+        assertFalse(solver.isUnsatisfiable());
+
+        Vec<Literal> failed = solver.getFailedAssumptions();
+        assertEquals(2, failed.size());
+        assertTrue(contains(failed, assumptions.get(1)));
+        assertTrue(contains(failed, assumptions.get(2)));
+
+        SimpleSolver fresh = new SimpleSolver();
+        initVariables(fresh, 16);
+        for(int i=0; i<clauses.size(); ++i)
+            fresh.addClause(clauses.get(i));
+        assertFalse(fresh.solve(failed));
+
+        SimpleVec<Literal> clause = new SimpleVec<Literal>();
+        addLiteral(clause, 3 * 4 + 3, false);
+        solver.addClause(clause);
+        assumptions.clear();
+        addLiteral(assumptions, 2 * 4 + 2, true);
+        addLiteral(assumptions, 3 * 4 + 3, true);
+        assertFalse(solver.solve(assumptions));
+        failed = solver.getFailedAssumptions();
+        assertEquals(1, failed.size());
+        assertEquals(assumptions.get(1), failed.get(0));
+        assertTrue(solver.solve());
+        assertEquals(0, solver.getFailedAssumptions().size());
+    }
+
+    /**
+     * Four pigeons in four holes, solved under two sets of assumptions whose cores are known: pigeons 0 and 2 both in 
+     * hole 0 (with pigeon 1 in hole 1 assumed in between, and pigeon 3 in hole 3 after them), then pigeons 0, 1 and 2 
+     * in holes 0, 1 and 2 and pigeon 3 not in hole 3, which is the only hole left for it.
+     * Check that the failed assumptions are exactly the core each time, and that the core is minimal: leaving out any 
+     * one of its assumptions makes the problem satisfiable.
+     */
+    @Test
+    public void testFailedAssumptionsFormMinimalCore() {
+        SimpleSolver solver = new SimpleSolver();
+        addPigeonholeClauses(solver, 4, 4);
+        SimpleVec<Literal> assumptions = new SimpleVec<Literal>();
+        addLiteral(assumptions, 0 * 4 + 0, true);
+        addLiteral(assumptions, 1 * 4 + 1, true);
+        addLiteral(assumptions, 2 * 4 + 0, true);
+        addLiteral(assumptions, 3 * 4 + 3, true);
+        assertFalse(solver.solve(assumptions));
+        Vec<Literal> failed = solver.getFailedAssumptions();
+        assertEquals(2, failed.size());
+        assertTrue(contains(failed, assumptions.get(0)));
+        assertTrue(contains(failed, assumptions.get(2)));
+        assertMinimalCore(failed);
+
+        assumptions.clear();
+        addLiteral(assumptions, 0 * 4 + 0, true);
+        addLiteral(assumptions, 1 * 4 + 1, true);
+        addLiteral(assumptions, 2 * 4 + 2, true);
+        addLiteral(assumptions, 3 * 4 + 3, false);
+        assertFalse(solver.solve(assumptions));
+        failed = solver.getFailedAssumptions();
+        assertEquals(4, failed.size());
+        assertMinimalCore(failed);
+    }
+
+    /**
+     * Solve 5 pigeons in 4 holes without assumptions, then under an assumption.
+     * Check that there are no failed assumptions, that the solver reports the problem as unsatisfiable regardless of 
+     * assumptions, and that later calls fail right away.
+     */
+    @Test
+    public void testUnsatisfiableRegardlessOfAssumptions() {
+        SimpleSolver solver = new SimpleSolver();
+        addPigeonholeClauses(solver, 5, 4);
+        assertFalse(solver.isUnsatisfiable());
+        assertFalse(solver.solve());
+        assertEquals(0, solver.getFailedAssumptions().size());
+        assertTrue(solver.isUnsatisfiable());
+
+        SimpleVec<Literal> assumptions = new SimpleVec<Literal>();
+        addLiteral(assumptions, 0, true);
+        assertFalse(solver.solve(assumptions));
+        assertEquals(0, solver.getFailedAssumptions().size());
+        assertTrue(solver.isUnsatisfiable());
+    }
+
+    /**
+     * Add a clause, then unit clauses that make it false, without solving in between.
+     * Check that the units enqueued by one call to addClause() are still propagated after the next one.
+     */
+    @Test
+    public void testUnitClausesBeforeMoreClauses() {
+        SimpleSolver solver = new SimpleSolver();
+        initVariables(solver, 4);
+        int[][] clauses = { { -1, -2, 3, 4 }, { 1 }, { 2 }, { -3 }, { -4 } };
+        for(int[] clause : clauses)
+            solver.addClause(dimacsClause(clause));
+        assertFalse(solver.solve());
+    }
+
+    /**
+     * Solve random small problems incrementally, adding clauses (units included) and changing the assumptions 
+     * (keeping a random prefix of the previous ones) between calls, with and without chronological backtracking.
+     * Check every answer against an exhaustive search, every model against the clauses and assumptions, and that the 
+     * failed assumptions are unsatisfiable on their own.
+     */
+    @Test
+    public void testIncrementalCallsMatchExhaustiveSearch() {
+        Random random = new Random(5);
+        for(int instance=0; instance<200; ++instance) {
+            int numVars = 4 + random.nextInt(7);
+            SimpleSolver solver = new SimpleSolver();
+            if(instance % 2 == 1)
+                solver.setSearchParameters(new SearchParameters(0.95, 0.999, true, false, 0, 1));
+            initVariables(solver, numVars);
+            SimpleVec<SimpleVec<Literal>> clauses = new SimpleVec<SimpleVec<Literal>>();
+            SimpleVec<Literal> assumptions = new SimpleVec<Literal>();
+            for(int call=0; call<20; ++call) {
+                for(int i=random.nextInt(4); i>0; --i) {
+                    int[] clause = new int[1 + random.nextInt(4)];
+                    for(int j=0; j<clause.length; ++j)
+                        clause[j] = randomDimacsLiteral(random, numVars);
+                    clauses.push(dimacsClause(clause));
+                    solver.addClause(dimacsClause(clause));
+                }
+                // keep a prefix of the previous assumptions, then assume a few more variables (each only once)
+                assumptions.shrinkBy(assumptions.size() - random.nextInt(assumptions.size() + 1));
+                for(int i=random.nextInt(4); i>0; --i) {
+                    Literal p = new Literal(random.nextInt(numVars), random.nextBoolean());
+                    if(!contains(assumptions, p) && !contains(assumptions, p.negated()))
+                        assumptions.push(p);
+                }
+
+                boolean expected = isSatisfiable(numVars, clauses, assumptions);
+                assertEquals(expected, solver.solve(assumptions));
+                if(expected) {
+                    assertTrue(satisfiesClauses(solver.getModel(), clauses));
+                    for(int i=0; i<assumptions.size(); ++i)
+                        assertTrue(solver.getModel().get(assumptions.get(i).var()) != assumptions.get(i).sign());
+                }
+                else {
+                    Vec<Literal> failed = solver.getFailedAssumptions();
+                    for(int i=0; i<failed.size(); ++i)
+                        assertTrue(contains(assumptions, failed.get(i)));
+                    assertFalse(isSatisfiable(numVars, clauses, failed));
+                }
+            }
+        }
+    }
+
+    /**
+     * Solve 6 pigeons in 5 holes under many copies of the same assumption, so that there are more decision levels 
+     * than variables. Check that the problem is still found unsatisfiable.
+     */
+    @Test
+    public void testMoreAssumptionLevelsThanVariables() {
+        SimpleSolver solver = new SimpleSolver();
+        addPigeonholeClauses(solver, 6, 5);
+        SimpleVec<Literal> assumptions = new SimpleVec<Literal>();
+        for(int i=0; i<100; ++i)
+            addLiteral(assumptions, 0, true);
+        assertFalse(solver.solve(assumptions));
+    }
+
+    /**
+     * Check the first elements of the Luby sequence.
+     */
+    @Test
+    public void testLubySequence() {
+        int[] expected = { 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, 1 };
+        for(int i=0; i<expected.length; ++i)
+            assertEquals(expected[i], LubyRestarts.luby(i));
+    }
+
+    /**
+     * Solve 4 pigeons in 4 holes with {@code satSolver} and 5 pigeons in 4 holes with {@code unsatSolver}, two fresh
+     * solvers configured alike. Check the answers, and that the model satisfies the clauses.
+     */
+    private static void assertPigeonholeAnswers(SimpleSolver satSolver, SimpleSolver unsatSolver) {
+        SimpleVec<SimpleVec<Literal>> satClauses = addPigeonholeClauses(satSolver, 4, 4);
+        assertTrue(satSolver.solve());
+        assertTrue(satisfiesClauses(satSolver.getModel(), satClauses));
+
+        addPigeonholeClauses(unsatSolver, 5, 4);
+        assertFalse(unsatSolver.solve());
+    }
+
+    /**
+     * Check that leaving out any one of the assumptions in {@code core} makes 4 pigeons in 4 holes satisfiable.
+     */
+    private static void assertMinimalCore(Vec<Literal> core) {
+        for(int left=0; left<core.size(); ++left) {
+            SimpleVec<Literal> rest = new SimpleVec<Literal>();
+            for(int i=0; i<core.size(); ++i) {
+                if(i != left)
+                    rest.push(core.get(i));
+            }
+            SimpleSolver fresh = new SimpleSolver();
+            addPigeonholeClauses(fresh, 4, 4);
+            assertTrue(fresh.solve(rest));
+        }
+    }
+
+    /**
+     * Check that the reason of the assigned variable {@code var} (if it has one) implies its literal.
+     */
+    private static void assertReasonImplies(SimpleSolver solver, int var) {
+        VariableStore vars = solver.getVariableStore();
+        int p = Lit.make(var, vars.varValue(var) == LBool.L_FALSE);
+        int from = vars.reason(var);
+        if(from == ClauseArena.CREF_UNDEF)
+            return;
+        if(VariableStore.isBinaryReason(from)) {
+            assertEquals(LBool.L_FALSE, vars.value(VariableStore.binaryReasonLiteral(from)));
+            return;
+        }
+        ClauseArena clauses = solver.getClauseArena();
+        assertFalse(clauses.isDeleted(from));
+        boolean found = false;
+        for(int i=0; i<clauses.size(from); ++i) {
+            int lit = clauses.lit(from, i);
+            if(lit == p)
+                found = true;
+            else
+                assertEquals(LBool.L_FALSE, vars.value(lit));
+        }
+        assertTrue(found);
+    }
+
+    /**
+     * Add the clauses of {@code pigeons} pigeons in {@code holes} holes (see Pigeonhole). Variable p * holes + h means 
+     * that pigeon p sits in hole h. Returns the clauses.
+     */
+    private static SimpleVec<SimpleVec<Literal>> addPigeonholeClauses(SimpleSolver solver, int pigeons, int holes) {
+        initVariables(solver, pigeons * holes);
+        SimpleVec<SimpleVec<Literal>> clauses = new SimpleVec<SimpleVec<Literal>>();
+        for(int[] clause : Pigeonhole.clauses(pigeons, holes)) {
+            clauses.push(dimacsClause(clause));
+            solver.addClause(clauses.last());
+        }
+        return clauses;
+    }
+
+    private static boolean satisfiesClauses(BoolVec model, SimpleVec<SimpleVec<Literal>> clauses) {
+        for(int i=0; i<clauses.size(); ++i) {
+            boolean satisfied = false;
+            SimpleVec<Literal> clause = clauses.get(i);
+            for(int j=0; j<clause.size(); ++j) {
+                Literal lit = clause.get(j);
+                if(model.get(lit.var()) != lit.sign())
+                    satisfied = true;
+            }
+            if(!satisfied)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check by trying every assignment of the first {@code numVars} variables whether the clauses are satisfiable 
+     * under the assumptions.
+     */
+    private static boolean isSatisfiable(int numVars, SimpleVec<SimpleVec<Literal>> clauses, Vec<Literal> assumptions) {
+        BoolVec model = new BoolVec(numVars);
+        for(long bits=0; bits < (1L << numVars); ++bits) {
+            for(int i=0; i<numVars; ++i)
+                model.set(i, ((bits >> i) & 1) == 1);
+            boolean consistent = true;
+            for(int i=0; i<assumptions.size(); ++i) {
+                if(model.get(assumptions.get(i).var()) == assumptions.get(i).sign())
+                    consistent = false;
+            }
+            if(consistent && satisfiesClauses(model, clauses))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Return the clause of DIMACS literals {@code lits} (variable v, numbered from 1, as v or -v).
+     */
+    private static SimpleVec<Literal> dimacsClause(int[] lits) {
+        SimpleVec<Literal> clause = new SimpleVec<Literal>();
+        for(int lit : lits)
+            addLiteral(clause, Math.abs(lit) - 1, lit > 0);
+        return clause;
+    }
+
+    private static int randomDimacsLiteral(Random random, int numVars) {
+        int var = 1 + random.nextInt(numVars);
+        return random.nextBoolean() ? var : -var;
+    }
+
+    private static boolean contains(Vec<Literal> literals, Literal literal) {
+        for(int i=0; i<literals.size(); ++i) {
+            if(literals.get(i).equals(literal))
+                return true;
+        }
+        return false;
+    }
+
     private static void initVariables(SimpleSolver solver, int numVars) {
         for(int i=0; i<numVars; ++i)
             solver.newVariable();
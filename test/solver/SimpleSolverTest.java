@@ -0,0 +1,570 @@
+package solver;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import collections.IntVec;
+import solver.solverTypes.ClauseArena;
+import solver.solverTypes.LBool;
+import solver.solverTypes.Lit;
+import solver.solverTypes.SearchParameters;
+import solver.solverTypes.SimpleClause;
+import solver.solverTypes.SimpleVarOrder;
+import solver.solverTypes.VariableStore;
+
+public class SimpleSolverTest {
+
+    /**
+     * Add the clauses (1 | 2 | 3 | 4) and (-1 | 2 | 3 | 4 | -5), then the unit clause 1, and simplify: the first 
+     * clause is removed and the second loses -1, which wastes more than enough of the arena to collect it. Then solve 
+     * assuming -2, -3 and -4.
+     * Check that the clause arena was replaced by one holding only the shortened clause, and that the relocated 
+     * watches still propagate it: -5 is implied with the new clause reference as its reason.
+     */
+    @Test
+    public void testGarbageCollectionRelocatesWatches() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(5);
+        solver.addClause(lits(1, 2, 3, 4));
+        solver.addClause(lits(-1, 2, 3, 4, -5));
+        ClauseArena before = solver.getClauseArena();
+        solver.addClause(lits(1));
+        assertTrue(solver.simplifyDB());
+
+        ClauseArena arena = solver.getClauseArena();
+        assertTrue(before != arena);
+        assertEquals(0, arena.wasted());
+        assertEquals(3 + 4, arena.size());
+
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(-2, -3, -4)));
+        VariableStore vars = solver.getVariableStore();
+        assertEquals(LBool.L_TRUE, vars.value(Lit.fromDimacs(-5)));
+        assertEquals(0, vars.reason(4));
+        assertEquals(Lit.fromDimacs(-5), arena.lit(0, 0));
+    }
+
+    /**
+     * Add the clause (1 | 2 | 3 | 4), which watches its first two literals, and solve assuming 2, then -1.
+     * Check that the watch of the clause on 1 is inspected, but the clause itself is never read, since its blocker 2
+     * is true. Then solve a copy of the problem assuming only -1, and check that the clause is read.
+     */
+    @Test
+    public void testTrueBlockerSkipsClause() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(4);
+        solver.addClause(lits(1, 2, 3, 4));
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(2, -1)));
+        assertTrue(solver.getWatchesInspected() > 0);
+        assertEquals(0, solver.getClauseVisits());
+
+        SimpleSolver unblocked = new SimpleSolver();
+        unblocked.newVariable(4);
+        unblocked.addClause(lits(1, 2, 3, 4));
+        assertEquals(LBool.TRUE, unblocked.solveLimited(lits(-1)));
+        assertTrue(unblocked.getClauseVisits() > 0);
+    }
+
+    /**
+     * Add the clause (1 | 2 | 3 | 4) and solve assuming -1, which moves its watch from 1 to 3. Then solve without 
+     * assumptions (undoing -1) and assuming -1 again.
+     * Check that the clause is read once, by the first call: its moved watch was dropped from the watch list of 1.
+     */
+    @Test
+    public void testMovedWatchLeavesWatchList() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(4);
+        solver.addClause(lits(1, 2, 3, 4));
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(-1)));
+        assertEquals(1, solver.getClauseVisits());
+        long inspected = solver.getWatchesInspected();
+
+        assertEquals(LBool.TRUE, solver.solveLimited(lits()));
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(-1)));
+        assertEquals(1, solver.getClauseVisits());
+        assertEquals(inspected, solver.getWatchesInspected());
+    }
+
+    /**
+     * Add the clauses (1 | 2 | 3 | 4), (1 | 2 | 3 | -4 | 6) and (1 | 2 | 3 | 5), which all end up watching 3, and 
+     * solve assuming -6, -1, -2 and -3: propagating -3 hits a conflict in the second clause, before it gets to the 
+     * third. Then solve assuming -1, -2 and -3 only.
+     * Check that the first call fails, and that the second call propagates the third clause from its watch on 3, 
+     * which was kept when the conflict cut the watch list short.
+     */
+    @Test
+    public void testConflictKeepsRemainingWatches() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(6);
+        solver.addClause(lits(1, 2, 3, 4));
+        solver.addClause(lits(1, 2, 3, -4, 6));
+        solver.addClause(lits(1, 2, 3, 5));
+        assertEquals(LBool.FALSE, solver.solveLimited(lits(-6, -1, -2, -3)));
+
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(-1, -2, -3)));
+        VariableStore vars = solver.getVariableStore();
+        assertEquals(LBool.L_TRUE, vars.value(Lit.fromDimacs(5)));
+        assertEquals(3, vars.level(4));
+        assertTrue(vars.reason(4) != ClauseArena.CREF_UNDEF);
+    }
+
+    /**
+     * Add the binary clauses (-1 | 2) and (-2 | 3), and solve assuming 1.
+     * Check that they take no clause memory, and that 2 and 3 are implied at the assumption level with inline binary
+     * reasons holding the other literal of their clause.
+     */
+    @Test
+    public void testBinaryClausesImplyWithInlineReasons() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(3);
+        solver.addClause(lits(-1, 2));
+        solver.addClause(lits(-2, 3));
+        assertEquals(2, solver.getNumBinaryClauses());
+        assertEquals(0, solver.getClauseArena().size());
+
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(1)));
+        VariableStore vars = solver.getVariableStore();
+        for(int lit=2; lit<=3; ++lit) {
+            int var = lit - 1;
+            assertEquals(LBool.L_TRUE, vars.value(Lit.fromDimacs(lit)));
+            assertEquals(1, vars.level(var));
+            assertTrue(VariableStore.isBinaryReason(vars.reason(var)));
+            assertEquals(Lit.fromDimacs(-(lit - 1)), VariableStore.binaryReasonLiteral(vars.reason(var)));
+        }
+    }
+
+    /**
+     * Add the binary clauses (-1 | 2), (-2 | 3) and (-2 | -3), and solve assuming 1.
+     * Check that the binary conflict is traced back through the inline reasons to the assumption.
+     */
+    @Test
+    public void testBinaryConflictFailsAssumption() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(3);
+        solver.addClause(lits(-1, 2));
+        solver.addClause(lits(-2, 3));
+        solver.addClause(lits(-2, -3));
+        assertEquals(LBool.FALSE, solver.solveLimited(lits(1)));
+        assertTrue(solver.isFailedAssumption(Lit.fromDimacs(1)));
+        assertFalse(solver.isUnsatisfiable());
+    }
+
+    /**
+     * Add the ternary clause (3 | -1 | -2), with the literal to imply last, and solve assuming 1, then 2.
+     * Check that the clause is marked ternary, that 3 is implied at the level of 2 with the clause as its reason, 
+     * that the clause is decided from its watches without being read, and that its reason for 3 is 1 and 2.
+     */
+    @Test
+    public void testTernaryClauseImpliesFromWatches() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(3);
+        solver.addClause(lits(3, -1, -2));
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(1, 2)));
+        assertEquals(0, solver.getClauseVisits());
+
+        VariableStore vars = solver.getVariableStore();
+        int cref = vars.reason(2);
+        assertTrue(cref != ClauseArena.CREF_UNDEF && !VariableStore.isBinaryReason(cref));
+        assertTrue(solver.getClauseArena().isTernary(cref));
+        assertEquals(2, vars.level(2));
+
+        IntVec reason = new IntVec();
+        SimpleClause.calcReason(solver, cref, Lit.fromDimacs(3), reason);
+        assertEquals(2, reason.size());
+        assertEquals(Lit.fromDimacs(1), reason.get(0));
+        assertEquals(Lit.fromDimacs(2), reason.get(1));
+    }
+
+    /**
+     * Add the ternary clause (3 | -1 | -2), and solve assuming 1, 2 and -3.
+     * Check that the last assumption fails together with the two that imply its negation through the clause.
+     */
+    @Test
+    public void testTernaryReasonFailsAssumptions() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(3);
+        solver.addClause(lits(3, -1, -2));
+        assertEquals(LBool.FALSE, solver.solveLimited(lits(1, 2, -3)));
+        for(int lit : new int[] { 1, 2, -3 })
+            assertTrue(solver.isFailedAssumption(Lit.fromDimacs(lit)));
+    }
+
+    /**
+     * Add the clauses (-1 | 2), (-4 | -2 | 3) and (-4 | -1 | -3), and solve assuming 1 (which implies 2) with the 
+     * simple variable order, which decides 4 next. Propagating 4 implies 3 and falsifies the last clause, and the 
+     * first-UIP clause of the conflict is (-4 | -1 | -2). Check that -2 is removed from it, since 2 is implied by 1, 
+     * and that the removed literal is counted.
+     */
+    @Test
+    public void testMinimizationRemovesImpliedLiteral() {
+        SimpleSolver solver = new SimpleSolver(SimpleVarOrder::new);
+        solver.newVariable(4);
+        solver.addClause(lits(-1, 2));
+        solver.addClause(lits(-4, -2, 3));
+        solver.addClause(lits(-4, -1, -3));
+        IntVec learnt = new IntVec();
+        solver.setLearn(Integer.MAX_VALUE, (IntVec clause) -> {
+            for(int i=0; i<clause.size(); ++i)
+                learnt.push(clause.get(i));
+        });
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(1)));
+        assertEquals(1, solver.getConflicts());
+        assertEquals(2, learnt.size());
+        assertEquals(Lit.fromDimacs(-4), learnt.get(0));
+        assertEquals(Lit.fromDimacs(-1), learnt.get(1));
+        assertEquals(1, solver.getMinimizedLiterals());
+    }
+
+    /**
+     * As above, but with the clause (-1 | 2) replaced by (-5 | 2), and assuming 5 and then 1, so that 2 is implied 
+     * by an assumption that is not in the learnt clause. Check that nothing is removed.
+     */
+    @Test
+    public void testMinimizationKeepsLiteralImpliedFromOutside() {
+        SimpleSolver solver = new SimpleSolver(SimpleVarOrder::new);
+        solver.newVariable(5);
+        solver.addClause(lits(-5, 2));
+        solver.addClause(lits(-4, -2, 3));
+        solver.addClause(lits(-4, -1, -3));
+        IntVec learnt = new IntVec();
+        solver.setLearn(Integer.MAX_VALUE, (IntVec clause) -> {
+            for(int i=0; i<clause.size(); ++i)
+                learnt.push(clause.get(i));
+        });
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(5, 1)));
+        assertEquals(1, solver.getConflicts());
+        assertEquals(3, learnt.size());
+        assertEquals(0, solver.getMinimizedLiterals());
+    }
+
+    /**
+     * Solve 5 variables without clauses, with activities that rank them in order, and a restart policy that asks for 
+     * a restart once variables 0, 1 and 2 are decided (levels 1 to 3), right after bumping variable 3 above 1 and 2.
+     * Check that the restart keeps exactly level 1, whose decision is the only one still ranked ahead of variable 3, 
+     * and that variable 3 is decided next, at level 2.
+     */
+    @Test
+    public void testRestartKeepsLevelsRankedAhead() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(5);
+        int[] bumps = { 6, 4, 2, 1, 0 };
+        for(int var=0; var<5; ++var) {
+            for(int k=0; k<bumps[var]; ++k)
+                solver.bumpVarActivity(Lit.make(var, false));
+        }
+        VariableStore vars = solver.getVariableStore();
+        int[] calls = new int[1];
+        RestartPolicy policy = new RestartPolicy() {
+            @Override
+            public void reset() { }
+
+            @Override
+            public void conflict(int lbd, int trailSize) { }
+
+            @Override
+            public boolean shouldRestart() {
+                calls[0] += 1;
+                if(calls[0] == 4) {
+                    for(int k=0; k<4; ++k)
+                        solver.bumpVarActivity(Lit.make(3, false));
+                    return true;
+                }
+                else if(calls[0] == 5) {
+                    // right after the restart
+                    assertEquals(1, vars.level(0));
+                    for(int var=1; var<5; ++var)
+                        assertTrue(LBool.isUndefined(vars.varValue(var)));
+                }
+                else if(calls[0] == 6)
+                    assertEquals(2, vars.level(3));
+                return false;
+            }
+
+            @Override
+            public void restarted() { }
+        };
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(), policy));
+        assertTrue(calls[0] > 6);
+        assertEquals(1, solver.getRestarts());
+        assertEquals(1, solver.getReusedLevels());
+    }
+
+    /**
+     * Add the clauses (-1 | -4 | 5) and (-1 | -4 | -5) over 5 variables, ranked and phased so that search decides 1, 
+     * 2, 3 and 4 at levels 1 to 4, where the clauses conflict. The learnt clause (-1 | -4) asserts -4 at level 1, 3 
+     * levels back. Solve with a chronological backtracking threshold of 2, then of 3.
+     * Check that the first solver backtracks one level, since 3 levels exceed the threshold, and that the second one 
+     * backjumps.
+     */
+    @Test
+    public void testChronoBacktrackThreshold() {
+        for(int threshold=2; threshold<=3; ++threshold) {
+            SimpleSolver solver = newChronoSolver(threshold);
+            assertEquals(LBool.TRUE, solver.solveLimited(lits()));
+            assertEquals(1, solver.getConflicts());
+            assertEquals((threshold == 2) ? 1 : 0, solver.getChronoBacktracks());
+        }
+    }
+
+    /**
+     * Same problem as testChronoBacktrackThreshold(), with a threshold of 1: after the conflict, -4 is assigned at 
+     * level 1 on top of levels 2 and 3. Then have the restart policy ask for a restart, right after bumping variable 4 
+     * ahead of variables 1 and 2, so that the restart keeps level 1 only.
+     * Check that -4 is assigned at level 1 after the conflict, and that the restart, which undoes the levels above it,
+     * keeps -4 assigned at level 1 while 2 and 3 are unassigned.
+     */
+    @Test
+    public void testChronoBacktrackKeepsOutOfOrderLiterals() {
+        SimpleSolver solver = newChronoSolver(1);
+        VariableStore vars = solver.getVariableStore();
+        int[] calls = new int[1];
+        RestartPolicy policy = new RestartPolicy() {
+            @Override
+            public void reset() { }
+
+            @Override
+            public void conflict(int lbd, int trailSize) { }
+
+            @Override
+            public boolean shouldRestart() {
+                calls[0] += 1;
+                if(calls[0] == 5) {
+                    // right after the conflict
+                    assertEquals(LBool.L_TRUE, vars.value(Lit.fromDimacs(-4)));
+                    assertEquals(1, vars.level(3));
+                    assertEquals(3, vars.level(2));
+                    // ahead of variables 1 and 2 (6 and 4 bumps), behind variable 0 (8 bumps, plus one by analysis)
+                    for(int k=0; k<7; ++k)
+                        solver.bumpVarActivity(Lit.make(4, false));
+                    return true;
+                }
+                else if(calls[0] == 6) {
+                    // right after the restart
+                    assertEquals(1, vars.level(0));
+                    assertEquals(LBool.L_TRUE, vars.value(Lit.fromDimacs(-4)));
+                    assertEquals(1, vars.level(3));
+                    assertTrue(LBool.isUndefined(vars.varValue(1)));
+                    assertTrue(LBool.isUndefined(vars.varValue(2)));
+                }
+                return false;
+            }
+
+            @Override
+            public void restarted() { }
+        };
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(), policy));
+        assertTrue(calls[0] > 6);
+        assertEquals(1, solver.getChronoBacktracks());
+        assertEquals(1, solver.getReusedLevels());
+    }
+
+    /**
+     * Add the clauses (1 | 2 | 3 | 4) and (-1 | 2 | 3 | -4) and simplify. Then solve repeatedly under assumptions, 
+     * which propagates many more literals than there are words of clause memory but assigns nothing at the top level, 
+     * and simplify again. Then add the unit clause 1 and simplify once more.
+     * Check that the second simplification is skipped, and that the third one removes the satisfied clause and the 
+     * false literal of the other one.
+     */
+    @Test
+    public void testSimplifyDBWaitsForTopLevelAssignments() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(4);
+        solver.addClause(lits(1, 2, 3, 4));
+        solver.addClause(lits(-1, 2, 3, -4));
+        assertTrue(solver.simplifyDB());
+        assertEquals(1, solver.getSimplifications());
+        int words = solver.getClauseArena().liveSize();
+
+        for(int i=0; i<10; ++i)
+            assertEquals(LBool.TRUE, solver.solveLimited(lits((i % 2 == 0) ? -2 : 2)));
+        assertTrue(solver.getPropagations() > 2 * words);
+        assertTrue(solver.simplifyDB());
+        assertEquals(1, solver.getSimplifications());
+
+        solver.addClause(lits(1));
+        assertTrue(solver.simplifyDB());
+        assertEquals(2, solver.getSimplifications());
+        // only the 3 literals of (2 | 3 | -4) are left, after the 3 header words
+        assertEquals(6, solver.getClauseArena().liveSize());
+    }
+
+    /**
+     * Give variable 0 a best phase (positive), then rephase 5 times.
+     * Check that the rephases cycle through the original (positive) phases, their inversion, the best phases (which 
+     * only cover variable 0, so the others keep their inverted phases) and random phases, then start over.
+     */
+    @Test
+    public void testRephaseCyclesPhases() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(3);
+        SearchParameters params = new SearchParameters(0.95, 0.999, true, true, 100);
+        solver.setSearchParameters(params);
+        VariableStore vars = solver.getVariableStore();
+        vars.setTargetPhase(Lit.fromDimacs(1), true);
+
+        solver.rephase(params);
+        assertDecisionLiterals(vars, 1, 2, 3);
+        solver.rephase(params);
+        assertDecisionLiterals(vars, -1, -2, -3);
+        solver.rephase(params);
+        assertDecisionLiterals(vars, 1, -2, -3);
+        solver.rephase(params);
+        solver.rephase(params);
+        assertDecisionLiterals(vars, 1, 2, 3);
+        assertEquals(5, solver.getRephases());
+    }
+
+    /**
+     * Solve 3 variables without clauses, assuming 1, 2 and 3, which keeps the assumption levels, and update the target 
+     * phases from the trail below the last level. Then rephase to the original phases, solve assuming -1, -2 and -3, 
+     * and update the target phases again; then solve assuming -1 and 2 and update them once more. Then rephase twice,
+     * to the inverted phases and to the best phases.
+     * Check that each update takes the phases of variables 0 and 1 as targets (decided ahead of the saved phases), 
+     * unless the trail is shorter than the one the targets came from, and that only the first, longer trail than any 
+     * before it, sets the best phases.
+     */
+    @Test
+    public void testTargetPhasesFollowLongestTrail() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(3);
+        SearchParameters params = new SearchParameters(0.95, 0.999, true, true, 100);
+        solver.setSearchParameters(params);
+        VariableStore vars = solver.getVariableStore();
+
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(1, 2, 3)));
+        solver.updateTargetPhases(params);
+        setPhases(vars, true);
+        assertDecisionLiterals(vars, 1, 2, -3);
+
+        solver.rephase(params);
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(-1, -2, -3)));
+        solver.updateTargetPhases(params);
+        setPhases(vars, false);
+        assertDecisionLiterals(vars, -1, -2, 3);
+
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(-1, 2)));
+        solver.updateTargetPhases(params);
+        setPhases(vars, false);
+        assertDecisionLiterals(vars, -1, -2, 3);
+
+        solver.rephase(params);
+        solver.rephase(params);
+        assertDecisionLiterals(vars, 1, 2, -3);
+    }
+
+    /**
+     * Learn four clauses over 8 variables: a core clause (LBD 2, 4 literals), a mid-tier clause (LBD 5, 5 literals) 
+     * and two local clauses (LBD 7, 7 and 8 literals), where the core and mid-tier clauses are the least active and 
+     * the 8-literal local clause is the most active. Then reduce the learnt clauses twice.
+     * Check that the first reduction removes the less active local clause and keeps the mid-tier clause, whose used 
+     * counter runs out, so that the second reduction removes it as a local clause. The core clause is kept both 
+     * times, although it is never used.
+     */
+    @Test
+    public void testReduceDBKeepsCoreAndUsedMidClauses() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(8);
+        learn(solver, lits(1, 2, 3, 4), 2, 0);
+        learn(solver, lits(1, 2, 3, 4, 5), 5, 0);
+        learn(solver, lits(1, 2, 3, 4, 5, 6, 7), 7, 1);
+        learn(solver, lits(1, 2, 3, 4, 5, 6, 7, 8), 7, 2);
+        assertEquals(1, solver.getCoreLearnts());
+        assertEquals(1, solver.getMidLearnts());
+        assertEquals(2, solver.getLocalLearnts());
+
+        solver.reduceDB();
+        assertEquals(1, solver.getCoreLearnts());
+        assertEquals(0, solver.getMidLearnts());
+        assertEquals(2, solver.getLocalLearnts());
+        assertEquals((3 + 4) + (3 + 5) + (3 + 8), solver.getClauseArena().liveSize());
+
+        solver.reduceDB();
+        assertEquals(1, solver.getCoreLearnts());
+        assertEquals(0, solver.getMidLearnts());
+        assertEquals(1, solver.getLocalLearnts());
+        assertEquals((3 + 4) + (3 + 8), solver.getClauseArena().liveSize());
+    }
+
+    /**
+     * Add the binary clauses (1 | -4), (1 | -5), (2 | -6), (2 | -7) and (3 | -8), and solve assuming -1, -2 and -3, 
+     * which keeps the assumption levels: all 8 variables are false, on 3 levels. Then learn the clause 
+     * (-1 | -2 | ... | -8) as a local clause with LBD 7, and use it in conflict analysis.
+     * Check that its LBD drops to 3, which promotes it to the mid tier, and that it stays there for two reductions 
+     * of the learnt clauses before it falls back to the local tier.
+     */
+    @Test
+    public void testLowerLBDPromotesUsedClause() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(8);
+        solver.addClause(lits(1, -4));
+        solver.addClause(lits(1, -5));
+        solver.addClause(lits(2, -6));
+        solver.addClause(lits(2, -7));
+        solver.addClause(lits(3, -8));
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(-1, -2, -3)));
+        int cref = learn(solver, lits(-1, -2, -3, -4, -5, -6, -7, -8), 7, 0);
+        assertEquals(1, solver.getLocalLearnts());
+
+        solver.learntUsed(cref);
+        assertEquals(3, solver.getClauseArena().getLBD(cref));
+        assertEquals(1, solver.getMidLearnts());
+        solver.reduceDB();
+        assertEquals(1, solver.getMidLearnts());
+        solver.reduceDB();
+        assertEquals(0, solver.getMidLearnts());
+        assertEquals(1, solver.getLocalLearnts());
+    }
+
+    /**
+     * Return a solver for testChronoBacktrackThreshold(), backtracking chronologically when a backjump would undo more 
+     * than {@code threshold} levels.
+     */
+    private static SimpleSolver newChronoSolver(int threshold) {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(5);
+        solver.setSearchParameters(new SearchParameters(0.95, 0.999, true, false, 0, threshold));
+        solver.addClause(lits(-1, -4, 5));
+        solver.addClause(lits(-1, -4, -5));
+        int[] bumps = { 8, 6, 4, 2, 0 };
+        for(int var=0; var<5; ++var) {
+            for(int k=0; k<bumps[var]; ++k)
+                solver.bumpVarActivity(Lit.make(var, false));
+        }
+        setPhases(solver.getVariableStore(), false);
+        return solver;
+    }
+
+    /**
+     * Check that {@code vars} decides variable i as the DIMACS literal {@code lits[i]}.
+     */
+    private static void assertDecisionLiterals(VariableStore vars, int... lits) {
+        for(int i=0; i<lits.length; ++i)
+            assertEquals(Lit.fromDimacs(lits[i]), vars.decisionLiteral(i));
+    }
+
+    private static void setPhases(VariableStore vars, boolean negated) {
+        for(int var=0; var<vars.numVars(); ++var)
+            vars.setPhase(var, negated);
+    }
+
+    /**
+     * Add the learnt clause {@code lits} to {@code solver} with LBD {@code lbd} and clause activity {@code activity}, 
+     * and return its clause reference.
+     */
+    private static int learn(SimpleSolver solver, IntVec lits, int lbd, float activity) {
+        int cref = SimpleClause.clauseNew(solver, lits, true);
+        solver.getClauseArena().setActivity(cref, activity);
+        solver.addLearnt(cref, lbd);
+        return cref;
+    }
+
+    /**
+     * Return the int literals (see Lit) of the DIMACS literals {@code lits}.
+     */
+    private static IntVec lits(int... lits) {
+        IntVec vec = new IntVec();
+        for(int lit : lits)
+            vec.push(Lit.fromDimacs(lit));
+        return vec;
+    }
+}
@@ -0,0 +1,79 @@
+package solver.solverTypes;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import collections.DoubleVec;
+
+public class CHBVarOrderTest {
+
+    /**
+     * Assign variables 0 and 1, then report a conflict that variable 0 (only) takes part in.
+     * Check that variable 0 earns the full reward of the conflict and variable 1 half of it, and that variable 2, which 
+     * wasn't assigned, earns nothing.
+     */
+    @Test
+    public void testConflictRewardsParticipantsFirst() {
+        VariableStore vars = new VariableStore();
+        vars.growTo(3);
+        CHBVarOrder order = new CHBVarOrder(vars, new DoubleVec());
+        for(int i=0; i<3; ++i)
+            order.newVar();
+        for(int var=0; var<2; ++var) {
+            vars.assign(Lit.make(var, false), 1, ClauseArena.CREF_UNDEF);
+            order.setAssigned(var);
+        }
+
+        order.conflict();
+        order.participated(0);
+        order.analyzed();
+        // score = 0.4 (initial step size) * reward, with reward = 1 / (conflicts since the last participation + 1)
+        assertEquals(0.4, order.getScore(0), 1e-9);
+        assertEquals(0.2, order.getScore(1), 1e-9);
+        assertEquals(0.0, order.getScore(2), 1e-9);
+    }
+
+    /**
+     * Assign variable 0, undo it during the analysis of a conflict (as backtracking to the conflict level does), then 
+     * finish the analysis. Check that it earns the reward of a conflict rather than of a propagation without one.
+     */
+    @Test
+    public void testUndoDuringAnalysisWaitsForConflictReward() {
+        VariableStore vars = new VariableStore();
+        vars.growTo(1);
+        CHBVarOrder order = new CHBVarOrder(vars, new DoubleVec());
+        order.newVar();
+        vars.assign(Lit.make(0, false), 1, ClauseArena.CREF_UNDEF);
+        order.setAssigned(0);
+
+        order.conflict();
+        vars.unassign(0);
+        order.undo(0);
+        order.analyzed();
+        assertEquals(0.4 * 0.5, order.getScore(0), 1e-9);
+        assertEquals(0, order.peekVariable());
+    }
+
+    /**
+     * Assign variable 0 and peek at the next decision, then select it.
+     * Check that peeking leaves the score of variable 0 alone, and that selecting hands out the reward of a
+     * propagation without a conflict.
+     */
+    @Test
+    public void testPeekDoesNotReward() {
+        VariableStore vars = new VariableStore();
+        vars.growTo(2);
+        CHBVarOrder order = new CHBVarOrder(vars, new DoubleVec());
+        for(int i=0; i<2; ++i)
+            order.newVar();
+        vars.assign(Lit.make(0, false), 1, ClauseArena.CREF_UNDEF);
+        order.setAssigned(0);
+
+        assertEquals(1, order.peekVariable());
+        assertEquals(0.0, order.getScore(0), 1e-9);
+        assertEquals(1, order.selectVariable());
+        // 0.4 (initial step size) * 0.9 (no conflict) * 1 / (0 conflicts since the last participation + 1)
+        assertEquals(0.4 * 0.9, order.getScore(0), 1e-9);
+    }
+}
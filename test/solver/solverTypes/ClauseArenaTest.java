@@ -0,0 +1,136 @@
+package solver.solverTypes;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import collections.IntVec;
+import exception.IllegalArgumentException;
+
+public class ClauseArenaTest {
+
+    /**
+     * Allocate a problem clause and a learnt clause, with an activity, an LBD and a used count set on the learnt one.
+     * Check that both read back their literals and flags, and that the arena counts their words without waste.
+     */
+    @Test
+    public void testAllocStoresLiteralsAndHeader() {
+        ClauseArena arena = new ClauseArena(4);
+        int c1 = arena.alloc(lits(1, 3, 5), false);
+        int c2 = arena.alloc(lits(2, 4, 6, 8), true);
+        arena.setActivity(c2, 2.5f);
+        arena.setLBD(c2, 3);
+        arena.setUsed(c2, ClauseArena.MAX_USED);
+
+        assertEquals(3, arena.size(c1));
+        assertEquals(5, arena.lit(c1, 2));
+        assertFalse(arena.isLearnt(c1));
+        assertEquals(4, arena.size(c2));
+        assertEquals(8, arena.lit(c2, 3));
+        assertTrue(arena.isLearnt(c2));
+        assertEquals(2.5f, arena.getActivity(c2), 0.0f);
+        assertEquals(3, arena.getLBD(c2));
+        assertEquals(ClauseArena.MAX_USED, arena.getUsed(c2));
+        // 3 header words per clause
+        assertEquals(13, arena.size());
+        assertEquals(0, arena.wasted());
+    }
+
+    /**
+     * Shrink a clause of 5 literals to 3, then free another clause.
+     * Check that the shrunk clause keeps its first literals and flags, and that the removed literals and the freed
+     * clause are counted as wasted.
+     */
+    @Test
+    public void testShrinkAndFreeCountWaste() {
+        ClauseArena arena = new ClauseArena();
+        int c1 = arena.alloc(lits(1, 3, 5, 7, 9), true);
+        int c2 = arena.alloc(lits(2, 4, 6, 8), false);
+        arena.shrink(c1, 3);
+        assertEquals(3, arena.size(c1));
+        assertEquals(5, arena.lit(c1, 2));
+        assertTrue(arena.isLearnt(c1));
+        assertEquals(2, arena.wasted());
+
+        arena.free(c2);
+        assertTrue(arena.isDeleted(c2));
+        assertFalse(arena.isDeleted(c1));
+        assertEquals(2 + 7, arena.wasted());
+        assertEquals(arena.size() - arena.wasted(), arena.liveSize());
+    }
+
+    /**
+     * Shrink a clause to more literals than it has.
+     * Check that an IllegalArgumentException is thrown.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testShrinkBeyondSizeThrows() {
+        ClauseArena arena = new ClauseArena();
+        int c = arena.alloc(lits(1, 3, 5), false);
+        arena.shrink(c, 4);
+    }
+
+    /**
+     * Relocate a learnt ternary clause into another arena, then relocate it again.
+     * Check that the copy keeps the literals, flags, activity and LBD, and that the second relocation returns the
+     * same reference (through the forwarding reference left in the old arena) without copying the clause again.
+     */
+    @Test
+    public void testRelocateForwardsToCopy() {
+        ClauseArena from = new ClauseArena();
+        from.alloc(lits(0, 2, 4, 6), false);
+        int c = from.alloc(lits(1, 3, 5), true);
+        from.setTernary(c);
+        from.setActivity(c, 1.5f);
+        from.setLBD(c, 2);
+
+        ClauseArena to = new ClauseArena();
+        int moved = from.relocate(c, to);
+        assertEquals(0, moved);
+        assertEquals(3, to.size(moved));
+        for(int i=0; i<3; ++i)
+            assertEquals(from.lit(c, i), to.lit(moved, i));
+        assertTrue(to.isLearnt(moved));
+        assertTrue(to.isTernary(moved));
+        assertEquals(1.5f, to.getActivity(moved), 0.0f);
+        assertEquals(2, to.getLBD(moved));
+
+        int words = to.size();
+        assertEquals(moved, from.relocate(c, to));
+        assertEquals(words, to.size());
+    }
+
+    /**
+     * Collect garbage the way the solver does: free one of three clauses and shrink another, then relocate the
+     * clauses still referenced into an arena sized by liveSize(), in a different order than they were allocated.
+     * Check that the new arena holds exactly the live words, without waste, and that each clause keeps its literals.
+     */
+    @Test
+    public void testRelocatingLiveClausesCompacts() {
+        ClauseArena from = new ClauseArena();
+        int c1 = from.alloc(lits(1, 3, 5, 7), false);
+        int c2 = from.alloc(lits(2, 4, 6, 8), true);
+        int c3 = from.alloc(lits(9, 11, 13, 15, 17), true);
+        from.free(c2);
+        from.shrink(c3, 4);
+
+        ClauseArena to = new ClauseArena(from.liveSize());
+        int moved3 = from.relocate(c3, to);
+        int moved1 = from.relocate(c1, to);
+        assertEquals(from.liveSize(), to.size());
+        assertEquals(0, to.wasted());
+        assertEquals(0, moved3);
+        assertEquals(4, to.size(moved3));
+        assertEquals(15, to.lit(moved3, 3));
+        assertEquals(4, to.size(moved1));
+        assertEquals(7, to.lit(moved1, 3));
+        assertFalse(to.isLearnt(moved1));
+    }
+
+    private static IntVec lits(int... lits) {
+        IntVec vec = new IntVec();
+        for(int lit : lits)
+            vec.push(lit);
+        return vec;
+    }
+}
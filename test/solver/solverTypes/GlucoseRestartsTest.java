@@ -0,0 +1,70 @@
+package solver.solverTypes;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class GlucoseRestartsTest {
+
+    /**
+     * Feed 5 conflicts with LBD 2, then conflicts with LBD 10, all with the same trail size, to a policy that averages
+     * the last 3 LBDs and restarts when 0.8 times that average exceeds the average of all LBDs. Then report a restart
+     * and feed more conflicts with LBD 10.
+     * Check that no restart is due while the LBDs stay the same, that one is due once the recent average is more than
+     * 1.25 times the overall one, and that the restart clears the recent LBDs, so the next restart waits until 3 more
+     * conflicts have filled them again.
+     */
+    @Test
+    public void testRestartWhenRecentLBDsExceedAverage() {
+        GlucoseRestarts policy = new GlucoseRestarts(3, 4, 0.8, 1.4, 0);
+        for(int i=0; i<5; ++i)
+            policy.conflict(2, 10);
+        assertFalse(policy.shouldRestart());
+
+        // recent average 14 / 3, times 0.8 is 3.73; overall average 20 / 6 = 3.33
+        policy.conflict(10, 10);
+        assertTrue(policy.shouldRestart());
+
+        policy.restarted();
+        assertFalse(policy.shouldRestart());
+        policy.conflict(10, 10);
+        policy.conflict(10, 10);
+        assertFalse(policy.shouldRestart());
+        policy.conflict(10, 10);
+        assertTrue(policy.shouldRestart());
+    }
+
+    /**
+     * Feed 5 conflicts with LBD 2 and trail size 10, then a conflict with LBD 10 and trail size 100, which is more than
+     * 1.4 times the average trail size. Then feed conflicts with LBD 10 and trail size 10.
+     * Check that the long trail blocks the restart the LBD would have caused, by clearing the recent LBDs, and that
+     * the restart comes once the recent LBDs are full again.
+     */
+    @Test
+    public void testLongTrailBlocksRestart() {
+        GlucoseRestarts policy = new GlucoseRestarts(3, 4, 0.8, 1.4, 0);
+        for(int i=0; i<5; ++i)
+            policy.conflict(2, 10);
+        policy.conflict(10, 100);
+        assertFalse(policy.shouldRestart());
+
+        policy.conflict(10, 10);
+        assertFalse(policy.shouldRestart());
+        policy.conflict(10, 10);
+        assertTrue(policy.shouldRestart());
+    }
+
+    /**
+     * Same as testLongTrailBlocksRestart(), but with a policy that doesn't block restarts during the first 100
+     * conflicts.
+     * Check that the long trail doesn't block the restart.
+     */
+    @Test
+    public void testNoBlockingDuringFirstConflicts() {
+        GlucoseRestarts policy = new GlucoseRestarts(3, 4, 0.8, 1.4, 100);
+        for(int i=0; i<5; ++i)
+            policy.conflict(2, 10);
+        policy.conflict(10, 100);
+        assertTrue(policy.shouldRestart());
+    }
+}
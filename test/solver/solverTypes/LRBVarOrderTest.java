@@ -0,0 +1,98 @@
+package solver.solverTypes;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import collections.DoubleVec;
+
+public class LRBVarOrderTest {
+
+    /**
+     * Assign variables 0 and 1, then report two conflicts, of which variable 0 takes part in one, and unassign both.
+     * Check that the learning rate of variable 0 over its interval (1 of 2 conflicts) is folded into its score, and
+     * that variable 1, which took part in none, keeps a score of 0.
+     */
+    @Test
+    public void testLearningRateFoldsIntoScoreOnUndo() {
+        VariableStore vars = new VariableStore();
+        vars.growTo(2);
+        LRBVarOrder order = newOrder(vars, 2);
+        assign(vars, order, 0);
+        assign(vars, order, 1);
+
+        order.conflict();
+        order.participated(0);
+        order.analyzed();
+        order.conflict();
+        order.analyzed();
+        unassign(vars, order, 0);
+        unassign(vars, order, 1);
+        // score = step size * learning rate, with the step size decremented once per conflict
+        assertEquals((0.4 - 2 * 1e-6) * 0.5, order.getScore(0), 1e-9);
+        assertEquals(0.0, order.getScore(1), 1e-9);
+        assertEquals(0, order.peekVariable());
+    }
+
+    /**
+     * Give variable 0 a learning rate of 1 (over 1 conflict) and variable 1 a learning rate of 0.9 (over 10 
+     * conflicts), then assign variable 1 again and report 3 more conflicts, during which variable 0 stays unassigned.
+     * Check that the score of variable 0 decays by a factor per conflict, which puts it behind variable 1 although its 
+     * stored score is still higher, and that peekVariable() applies the same decay when variable 0 reaches the top.
+     */
+    @Test
+    public void testUnassignedScoreDecays() {
+        VariableStore vars = new VariableStore();
+        vars.growTo(2);
+        LRBVarOrder order = newOrder(vars, 2);
+        assign(vars, order, 1);
+        for(int c=0; c<9; ++c) {
+            order.conflict();
+            if(c > 0)
+                order.participated(1);
+            order.analyzed();
+        }
+        assign(vars, order, 0);
+        order.conflict();
+        order.participated(0);
+        order.participated(1);
+        order.analyzed();
+        unassign(vars, order, 0);
+        unassign(vars, order, 1);
+        double stepSize = 0.4 - 10 * 1e-6;
+        assertEquals(stepSize, order.getScore(0), 1e-9);
+        assertEquals(stepSize * 0.9, order.getScore(1), 1e-9);
+        assertTrue(order.prefers(0, 1));
+
+        assign(vars, order, 1);
+        for(int c=0; c<3; ++c) {
+            order.conflict();
+            order.analyzed();
+        }
+        double decayed = stepSize * Math.pow(0.95, 3);
+        assertEquals(decayed, order.getScore(0), 1e-9);
+        assertEquals(stepSize * 0.9, order.getScore(1), 1e-9);
+        assertTrue(order.prefers(1, 0));
+        assertFalse(order.prefers(0, 1));
+
+        assertEquals(0, order.peekVariable());
+        assertEquals(decayed, order.getScore(0), 1e-9);
+    }
+
+    private static LRBVarOrder newOrder(VariableStore vars, int numVars) {
+        LRBVarOrder order = new LRBVarOrder(vars, new DoubleVec());
+        for(int i=0; i<numVars; ++i)
+            order.newVar();
+        return order;
+    }
+
+    private static void assign(VariableStore vars, LRBVarOrder order, int var) {
+        vars.assign(Lit.make(var, false), 1, ClauseArena.CREF_UNDEF);
+        order.setAssigned(var);
+    }
+
+    private static void unassign(VariableStore vars, LRBVarOrder order, int var) {
+        vars.unassign(var);
+        order.undo(var);
+    }
+}
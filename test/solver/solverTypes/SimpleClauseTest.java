@@ -0,0 +1,64 @@
+package solver.solverTypes;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import collections.IntVec;
+import exception.UncheckedInvariantException;
+import solver.SimpleSolver;
+
+public class SimpleClauseTest {
+
+    /**
+     * Add the clause (1 | 2 | 3 | 4 | 5) and solve assuming -4, -2, -5 and -3 (levels 1 to 4), which implies 1. Then
+     * strengthen the clause by removing 1, and solve assuming -2, -4 and -5.
+     * Check that the strengthened clause starts with the literals of the two highest levels, 3 (level 4) and 5 
+     * (level 3), and that it is watched on them: the second call implies 3 through it at level 3.
+     */
+    @Test
+    public void testStrengthenWatchesHighestLevels() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(5);
+        solver.addClause(lits(1, 2, 3, 4, 5));
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(-4, -2, -5, -3)));
+        VariableStore vars = solver.getVariableStore();
+        ClauseArena arena = solver.getClauseArena();
+        int cref = vars.reason(0);
+        assertEquals(Lit.fromDimacs(1), arena.lit(cref, 0));
+
+        SimpleClause.strengthen(solver, cref, Lit.fromDimacs(1));
+        assertEquals(4, arena.size(cref));
+        assertEquals(Lit.fromDimacs(3), arena.lit(cref, 0));
+        assertEquals(Lit.fromDimacs(5), arena.lit(cref, 1));
+        assertEquals(1, arena.wasted());
+
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(-2, -4, -5)));
+        assertEquals(LBool.L_TRUE, vars.value(Lit.fromDimacs(3)));
+        assertEquals(3, vars.level(2));
+        assertEquals(cref, vars.reason(2));
+    }
+
+    /**
+     * Strengthen a clause by removing a literal other than its first one.
+     * Check that an UncheckedInvariantException is thrown.
+     */
+    @Test(expected = UncheckedInvariantException.class)
+    public void testStrengthenOtherThanImpliedLiteralThrows() {
+        SimpleSolver solver = new SimpleSolver();
+        solver.newVariable(5);
+        solver.addClause(lits(1, 2, 3, 4, 5));
+        assertEquals(LBool.TRUE, solver.solveLimited(lits(-4, -2, -5, -3)));
+        SimpleClause.strengthen(solver, solver.getVariableStore().reason(0), Lit.fromDimacs(2));
+    }
+
+    /**
+     * Return the int literals (see Lit) of the DIMACS literals {@code lits}.
+     */
+    private static IntVec lits(int... lits) {
+        IntVec vec = new IntVec();
+        for(int lit : lits)
+            vec.push(Lit.fromDimacs(lit));
+        return vec;
+    }
+}
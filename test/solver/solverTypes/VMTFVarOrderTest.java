@@ -0,0 +1,75 @@
+package solver.solverTypes;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import collections.DoubleVec;
+
+public class VMTFVarOrderTest {
+
+    /**
+     * Add 4 variables, so that variable 3 is at the front of the queue, then bump variable 1, then variable 0.
+     * Check that each bump moves the variable to the front: it is selected next and preferred over the others.
+     */
+    @Test
+    public void testBumpMovesVariableToFront() {
+        VariableStore vars = new VariableStore();
+        vars.growTo(4);
+        VMTFVarOrder order = newOrder(vars, 4);
+        assertEquals(3, order.selectVariable());
+
+        order.update(1);
+        assertEquals(1, order.selectVariable());
+        assertTrue(order.prefers(1, 3));
+        assertFalse(order.prefers(3, 1));
+
+        order.update(0);
+        assertEquals(0, order.peekVariable());
+        assertTrue(order.prefers(0, 1));
+        assertTrue(order.prefers(1, 3));
+    }
+
+    /**
+     * Add 4 variables (queued 3, 2, 1, 0 from the front) and assign variables 3, 2, 1 and then 0. Then unassign them
+     * in the opposite order, as backtracking does, and also unassign variable 0 while the search pointer is at 2.
+     * Check that decisions skip the assigned variables, that unassigning a variable ahead of the search pointer moves
+     * the pointer back to it, and that unassigning one behind the pointer leaves it where it is.
+     */
+    @Test
+    public void testSearchSkipsAssignedAndMovesBackOnUndo() {
+        VariableStore vars = new VariableStore();
+        vars.growTo(4);
+        VMTFVarOrder order = newOrder(vars, 4);
+        for(int var=3; var>0; --var)
+            assign(vars, order, var);
+        assertEquals(0, order.selectVariable());
+        assign(vars, order, 0);
+
+        unassign(vars, order, 1);
+        assertEquals(1, order.selectVariable());
+        unassign(vars, order, 2);
+        assertEquals(2, order.selectVariable());
+        unassign(vars, order, 0);
+        assertEquals(2, order.selectVariable());
+        unassign(vars, order, 3);
+        assertEquals(3, order.selectVariable());
+    }
+
+    private static VMTFVarOrder newOrder(VariableStore vars, int numVars) {
+        VMTFVarOrder order = new VMTFVarOrder(vars, new DoubleVec());
+        for(int i=0; i<numVars; ++i)
+            order.newVar();
+        return order;
+    }
+
+    private static void assign(VariableStore vars, VMTFVarOrder order, int var) {
+        vars.assign(Lit.make(var, false), 1, ClauseArena.CREF_UNDEF);
+        order.setAssigned(var);
+    }
+
+    private static void unassign(VariableStore vars, VMTFVarOrder order, int var) {
+        vars.unassign(var);
+        order.undo(var);
+    }
+}
@@ -0,0 +1,45 @@
+package solver.solverTypes;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class VariableStoreTest {
+
+    /**
+     * Encode binary reasons for the first literals of a few variables, and decode them.
+     * Check that each decodes to its literal, and that no binary reason can be mistaken for a clause reference or
+     * for the absence of a reason (and vice versa).
+     */
+    @Test
+    public void testBinaryReasonsRoundTrip() {
+        for(int lit=0; lit<10; ++lit) {
+            int reason = VariableStore.binaryReason(lit);
+            assertTrue(VariableStore.isBinaryReason(reason));
+            assertEquals(lit, VariableStore.binaryReasonLiteral(reason));
+        }
+        assertFalse(VariableStore.isBinaryReason(ClauseArena.CREF_UNDEF));
+        assertFalse(VariableStore.isBinaryReason(0));
+        assertFalse(VariableStore.isBinaryReason(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Assign a variable with a binary reason, then unassign it.
+     * Check that the value, level and reason are stored, and that unassigning clears the value and the reason.
+     */
+    @Test
+    public void testAssignStoresBinaryReason() {
+        VariableStore vars = new VariableStore();
+        vars.growTo(2);
+        int reason = VariableStore.binaryReason(Lit.make(0, true));
+        vars.assign(Lit.make(1, false), 3, reason);
+        assertEquals(LBool.L_TRUE, vars.value(Lit.make(1, false)));
+        assertEquals(LBool.L_FALSE, vars.value(Lit.make(1, true)));
+        assertEquals(3, vars.level(1));
+        assertEquals(reason, vars.reason(1));
+
+        vars.unassign(1);
+        assertTrue(LBool.isUndefined(vars.varValue(1)));
+        assertEquals(ClauseArena.CREF_UNDEF, vars.reason(1));
+    }
+}